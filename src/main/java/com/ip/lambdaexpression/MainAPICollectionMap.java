@@ -11,7 +11,7 @@ import java.util.Map;
 
 import com.ip.model.City;
 import com.ip.model.CityPerson;
-import com.ip.model.Person;
+import com.ip.utils.MapMerger;
 
 /**
  *
@@ -28,11 +28,11 @@ public class MainAPICollectionMap {
         CityPerson p5 = new CityPerson("Erica", 37);
         CityPerson p6 = new CityPerson("Francisco", 18);
         
-        City newYork = new City("New York");
-        City shanghai = new City("Shanghai");
-        City paris = new City("Paris");
+        City newYork = City.of("New York");
+        City shanghai = City.of("Shanghai");
+        City paris = City.of("Paris");
         
-        Map<City, List<Person>> map = new HashMap<>();
+        Map<City, List<CityPerson>> map = new HashMap<>();
         
         map.putIfAbsent(paris, new ArrayList<>());
         map.get(paris).add(p1);
@@ -40,10 +40,15 @@ public class MainAPICollectionMap {
         map.computeIfAbsent(newYork, city -> new ArrayList<>()).add(p2);
         map.computeIfAbsent(newYork, city -> new ArrayList<>()).add(p3);
     
-        System.out.println("People from Paris : " + map.getOrDefault(paris, Collections.EMPTY_LIST));
-        System.out.println("People from New York : " + map.getOrDefault(newYork, Collections.EMPTY_LIST));
+        System.out.println("People from Paris : " + map.getOrDefault(paris, Collections.emptyList()));
+        System.out.println("People from New York : " + map.getOrDefault(newYork, Collections.emptyList()));
+
+        // cities are values, so a city read from elsewhere finds its entry
+        City parsedParis = new City("Paris");
+        System.out.println("People from parsed Paris : " + map.getOrDefault(parsedParis, Collections.emptyList()));
+        System.out.println("Canonical Paris : " + (parsedParis.intern() == paris));
         
-        Map<City, List<Person>> map1 = new HashMap<>();
+        Map<City, List<CityPerson>> map1 = new HashMap<>();
         map1.computeIfAbsent(newYork, city -> new ArrayList<>()).add(p1);
         map1.computeIfAbsent(shanghai, city -> new ArrayList<>()).add(p2);
         map1.computeIfAbsent(shanghai, city -> new ArrayList<>()).add(p3);
@@ -52,7 +57,7 @@ public class MainAPICollectionMap {
         map1.forEach((city, people) -> System.out.println(city + " : " + people));
 
         
-        Map<City, List<Person>> map2 = new HashMap<>();
+        Map<City, List<CityPerson>> map2 = new HashMap<>();
         map2.computeIfAbsent(shanghai, city -> new ArrayList<>()).add(p4);
         map2.computeIfAbsent(paris, city -> new ArrayList<>()).add(p5);
         map2.computeIfAbsent(paris, city -> new ArrayList<>()).add(p6);
@@ -60,6 +65,11 @@ public class MainAPICollectionMap {
         System.out.println("Map 2");
         map2.forEach((city, people) -> System.out.println(city + " : " + people));
 
+        // merges the partial maps in a fork-join tree, without modifying them
+        Map<City, List<CityPerson>> merged = MapMerger.mergeAll(Arrays.asList(map1, map2));
+        System.out.println("Merged with MapMerger ");
+        merged.forEach((city, people) -> System.out.println(city + " : " + people));
+
         map2.forEach(
                 (city, people) -> {
                     map1.merge(
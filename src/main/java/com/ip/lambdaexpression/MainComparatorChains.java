@@ -0,0 +1,67 @@
+package com.ip.lambdaexpression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.ip.model.Person;
+import com.ip.utils.Comparator;
+import com.ip.utils.ComparatorChain;
+
+/**
+ * Compares the time taken to sort persons on their last name, first name and age with a
+ * java.util.Comparator chain, a com.ip.utils.Comparator chain, and a ComparatorChain.
+ * <p>
+ * This is a rough measure: each sort is run several times first, for the JIT to compile it.
+ *
+ * @author Pratap
+ */
+public class MainComparatorChains {
+
+    private static final int PERSONS = 1_000_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    public static void main(String... args) {
+
+        Random random = new Random(314L);
+        String[] names = {"anubhav", "pratap", "anu", "dipa", "sahoo", "sahu", "jena", "rasmi"};
+        List<Person> persons = IntStream.range(0, PERSONS)
+                .mapToObj(i -> new Person(names[random.nextInt(names.length)], names[random.nextInt(names.length)], random.nextInt(100)))
+                .collect(Collectors.toList());
+
+        java.util.Comparator<Person> jdk = java.util.Comparator.comparing(Person::getLastName)
+                .thenComparing(Person::getFirstName)
+                .thenComparingInt(Person::getAge);
+
+        Comparator<Person> chained = Comparator.comparing(Person::getLastName)
+                .thenComparing(Person::getFirstName)
+                .thenComparingInt(Person::getAge);
+
+        Comparator<Person> flattened = ComparatorChain.<Person>builder()
+                .thenComparing(Person::getLastName)
+                .thenComparing(Person::getFirstName)
+                .thenComparingInt(Person::getAge)
+                .build();
+
+        time("java.util.Comparator chain", persons, jdk);
+        time("com.ip.utils.Comparator chain", persons, chained.toComparator());
+        time("ComparatorChain", persons, flattened.toComparator());
+    }
+
+    private static void time(String name, List<Person> persons, java.util.Comparator<Person> comparator) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            new ArrayList<>(persons).sort(comparator);
+        }
+        long elapsed = 0L;
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Person> copy = new ArrayList<>(persons);
+            long start = System.nanoTime();
+            copy.sort(comparator);
+            elapsed += System.nanoTime() - start;
+        }
+        System.out.println(name + " : " + (elapsed / ROUNDS / 1_000_000) + " ms");
+    }
+}
@@ -0,0 +1,60 @@
+package com.ip.lambdaexpression;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.ip.model.City;
+import com.ip.model.CityPerson;
+import com.ip.utils.ConcurrentCollectors;
+
+/**
+ * Compares the time taken to group a parallel stream of persons by city with Collectors.groupingBy,
+ * Collectors.groupingByConcurrent and ConcurrentCollectors.groupingByStriped, with few cities, where the
+ * threads append to the same keys, and with many cities.
+ * <p>
+ * This is a rough measure: each collector is run several times first, for the JIT to compile it. The striped
+ * collector only pays off when several cores append to the same keys, on a single core it is slower.
+ *
+ * @author Pratap
+ */
+public class MainStripedGrouping {
+
+    private static final int PERSONS = 2_000_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+
+        List<CityPerson> persons = IntStream.range(0, PERSONS)
+                .mapToObj(i -> new CityPerson("person" + i, i % 100))
+                .collect(Collectors.toList());
+
+        System.out.println("Available processors : " + Runtime.getRuntime().availableProcessors());
+        for (int cityCount : new int[]{4, 10_000}) {
+            City[] cities = IntStream.range(0, cityCount).mapToObj(i -> City.of("city" + i)).toArray(City[]::new);
+            Function<CityPerson, City> city = person -> cities[Math.floorMod(person.getName().hashCode(), cities.length)];
+
+            System.out.println(cityCount + " cities");
+            time("groupingBy", () -> persons.parallelStream().collect(Collectors.groupingBy(city)));
+            time("groupingByConcurrent", () -> persons.parallelStream().collect(Collectors.groupingByConcurrent(city)));
+            time("groupingByStriped", () -> persons.parallelStream().collect(ConcurrentCollectors.groupingByStriped(city)));
+        }
+    }
+
+    private static void time(String name, Supplier<? extends Map<City, List<CityPerson>>> grouping) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            grouping.get();
+        }
+        long start = System.nanoTime();
+        int keys = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            keys += grouping.get().size();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("  " + name + " : " + (elapsed / ROUNDS / 1_000_000) + " ms (" + keys / ROUNDS + " keys)");
+    }
+}
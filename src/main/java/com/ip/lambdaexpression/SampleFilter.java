@@ -1,8 +1,11 @@
 package com.ip.lambdaexpression;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import com.ip.utils.IntPredicate;
+
 /**
  * @author PRATAP.
  * Wap to use filter method.
@@ -26,5 +29,16 @@ List<Integer> list = num.stream()
 return list;
 }
 
+/**
+ * @param num numbers.
+ * @return the even numbers, filtered without boxing.
+ */
+public static int[] findOutEvenNum(final int[] num) {
+IntPredicate isEven = IntPredicate.isEven();
+return Arrays.stream(num)
+.filter(isEven::test)
+.toArray();
+}
+
 }
 
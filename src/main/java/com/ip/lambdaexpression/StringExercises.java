@@ -1,6 +1,6 @@
 package com.ip.lambdaexpression;
 
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,21 +19,78 @@ throw new AssertionError("Instantiating utility class.");
 
 
 /**
+ * The lowercase ASCII and Latin-1 characters, looked up without calling
+ * Character.isLowerCase().
+ */
+private static final boolean[] LATIN1_LOWERCASE = new boolean[256];
+
+/**
+ * The number of strings from which the counts are computed in parallel.
+ */
+private static final int PARALLEL_THRESHOLD = 1 << 12;
+
+static {
+for (char c = 0; c < LATIN1_LOWERCASE.length; c++) {
+LATIN1_LOWERCASE[c] = Character.isLowerCase(c);
+}
+}
+
+/**
+* Counts the lowercase chars of a string, in a loop over its chars.
+* The ASCII and Latin-1 chars are looked up in a table.
 * @param string string value
 * @return values value
 */
 public static int countLowercaseLetters(final String string) {
-//int a = 1;
-return (int) string.chars().filter(Character::isLowerCase).count();
-//string.chars().filter(Character :: isLo)
+int count = 0;
+for (int i = 0, length = string.length(); i < length; i++) {
+char c = string.charAt(i);
+if (c < LATIN1_LOWERCASE.length ? LATIN1_LOWERCASE[c] : Character.isLowerCase(c)) {
+count++;
+}
+}
+return count;
+}
+
+/**
+* Counts the lowercase chars of each string, in parallel for large lists.
+* @param strings the strings
+* @return the number of lowercase chars of each string, in the order of the list
+*/
+public static int[] countLowercaseLetters(final List<String> strings) {
+String[] array = strings.toArray(new String[0]);
+int[] counts = new int[array.length];
+if (array.length < PARALLEL_THRESHOLD) {
+Arrays.setAll(counts, i -> countLowercaseLetters(array[i]));
+} else {
+Arrays.parallelSetAll(counts, i -> countLowercaseLetters(array[i]));
+}
+return counts;
+}
+
+/**
+* @param counts the counts
+* @return the index of the first greatest count, -1 if there is none
+*/
+public static int indexOfMax(final int[] counts) {
+int index = -1;
+int max = Integer.MIN_VALUE;
+for (int i = 0; i < counts.length; i++) {
+if (counts[i] > max) {
+max = counts[i];
+index = i;
+}
+}
+return index;
 }
 
 /**
+* Counts the lowercase chars of each string once, instead of once per comparison.
 * @param strings nullstring
 * @return values nullvalue
 */
 public static Optional<String> mostLowercaseString(final List<String> strings) {
-return strings.stream()
-.max(Comparator.comparing(StringExercises::countLowercaseLetters));
+int index = indexOfMax(countLowercaseLetters(strings));
+return index < 0 ? Optional.empty() : Optional.of(strings.get(index));
 }
 }
@@ -1,7 +1,11 @@
 package com.ip.lambdaexpression;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.IntStream;
 
 /**
  * @author PRATAP
@@ -9,14 +13,99 @@ import java.util.stream.Collectors;
  */
 public class UpperCase {
 
+/**
+ * The number of words converted by a task of a parallel conversion.
+ */
+private static final int CHUNK_SIZE = 1 << 12;
+
+/**
+ * The number of words from which the conversion is parallel.
+ */
+private static final int PARALLEL_THRESHOLD = 4 * CHUNK_SIZE;
+
 /**
 * @param words listofstringvalue
 * @return values value
 */
 public final List<String> allToUpperCase(final List<String> words){
-	int a = 5;
-return words.stream().map(string
--> string.toUpperCase()).collect(Collectors.toList());
+String[] output = allToUpperCase(words, new String[words.size()]);
+return new ArrayList<>(Arrays.asList(output));
+}
+
+/**
+* Converts the words in the default locale, writing them to the provided
+* array, in parallel chunks for large lists.
+* @param words the words to convert
+* @param output the array the converted words are written to, from index 0
+* @return the output array
+*/
+public final String[] allToUpperCase(final List<String> words, final String[] output) {
+Objects.requireNonNull(output);
+if (output.length < words.size()) {
+throw new IllegalArgumentException("output should not be shorter than words");
+}
+String[] input = words.toArray(new String[0]);
+Locale locale = Locale.getDefault();
+if (input.length < PARALLEL_THRESHOLD) {
+convert(input, output, 0, input.length, locale);
+} else {
+int chunks = (input.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+IntStream.range(0, chunks).parallel().forEach(chunk ->
+convert(input, output, chunk * CHUNK_SIZE, (int) Math.min(input.length, (chunk + 1L) * CHUNK_SIZE), locale));
+}
+return output;
+}
+
+private static void convert(final String[] input, final String[] output, final int from, final int to, final Locale locale) {
+for (int i = from; i < to; i++) {
+output[i] = toUpperCase(input[i], locale);
+}
+}
+
+/**
+* Converts a word as String.toUpperCase(locale) does. A word of uppercase
+* ASCII chars is returned as is, and a pure ASCII word is converted without
+* the case mapping tables, except in the locales that map ASCII letters to
+* other letters.
+* @param word the word to convert
+* @param locale the locale of the conversion
+* @return the converted word
+*/
+public static String toUpperCase(final String word, final Locale locale) {
+int length = word.length();
+int firstLowercase = -1;
+for (int i = 0; i < length; i++) {
+char c = word.charAt(i);
+if (c >= 0x80) {
+return word.toUpperCase(locale);
+}
+if (firstLowercase < 0 && c >= 'a' && c <= 'z') {
+firstLowercase = i;
+}
+}
+if (firstLowercase < 0) {
+return word;
+}
+if (hasSpecialCasing(locale)) {
+return word.toUpperCase(locale);
+}
+char[] chars = word.toCharArray();
+for (int i = firstLowercase; i < length; i++) {
+char c = chars[i];
+if (c >= 'a' && c <= 'z') {
+chars[i] = (char) (c - ('a' - 'A'));
+}
+}
+return new String(chars);
+}
+
+/**
+* Turkish and Azerbaijani map i to a dotted capital I. Lithuanian is kept
+* out as well, as the JDK gives it special casing rules.
+*/
+private static boolean hasSpecialCasing(final Locale locale) {
+String language = locale.getLanguage();
+return "tr".equals(language) || "az".equals(language) || "lt".equals(language);
 }
 }
 
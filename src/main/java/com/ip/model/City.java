@@ -1,31 +1,111 @@
 package com.ip.model;
 
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
+ * A city, as a value: two cities with the same name are equal, so a city built from parsed data finds the
+ * entries of a map keyed by cities. The hash code is computed once, when the city is built.
+ * <p>
+ * {@link #of(String)} returns the canonical instance of a city, so that the duplicates of a city share one
+ * instance, and are compared by reference first. The pool of canonical instances holds them weakly: a city
+ * that is not used anymore is collected, and its entry removed from the pool.
  *
  * @author Pratap
  */
-public class City {
+public final class City {
 
-    private String name ;
-    
-    public City() {
-    }
+    private static final ConcurrentMap<String, CityReference> POOL = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<City> COLLECTED = new ReferenceQueue<>();
+
+    private final String name;
+    private final int hash;
 
     public City(String name) {
-        this.name = name;
+        this.name = Objects.requireNonNull(name);
+        this.hash = name.hashCode();
+    }
+
+    /**
+     * @return the canonical instance of the city with the provided name
+     */
+    public static City of(String name) {
+        Objects.requireNonNull(name);
+        purge();
+
+        CityReference reference = POOL.get(name);
+        City city = reference == null ? null : reference.get();
+        if (city != null) {
+            return city;
+        }
+        City candidate = new City(name);
+        CityReference candidateReference = new CityReference(candidate, COLLECTED);
+        while (true) {
+            CityReference existing = POOL.putIfAbsent(name, candidateReference);
+            if (existing == null) {
+                return candidate;
+            }
+            city = existing.get();
+            if (city != null) {
+                return city;
+            }
+            if (POOL.replace(name, existing, candidateReference)) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * @return the canonical instance of this city
+     */
+    public City intern() {
+        return of(name);
+    }
+
+    private static void purge() {
+        CityReference reference;
+        while ((reference = (CityReference) COLLECTED.poll()) != null) {
+            POOL.remove(reference.name, reference);
+        }
     }
 
     public String getName() {
         return name;
     }
 
-    public void setName(String name) {
-        this.name = name;
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof City)) {
+            return false;
+        }
+        City other = (City) o;
+        return hash == other.hash && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
     }
 
     @Override
     public String toString() {
         return "City{" + "name=" + name + '}';
     }
+
+    private static final class CityReference extends WeakReference<City> {
+
+        private final String name;
+
+        private CityReference(City city, ReferenceQueue<City> queue) {
+            super(city, queue);
+            this.name = city.name;
+        }
+    }
 }
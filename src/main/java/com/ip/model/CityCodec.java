@@ -0,0 +1,46 @@
+package com.ip.model;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.ElementCodec;
+import com.ip.utils.Varints;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * The binary encoding of a {@link City}: its name as a length-prefixed UTF-8 string. The name can be compared
+ * in place with {@link Varints#stringEquals(ByteBuffer, int, String)}, without decoding the city.
+ * <p>
+ * The name of a city is never null: decoding a null name, written by {@link Varints#putString(String, ByteBuffer)},
+ * throws an <code>IllegalArgumentException</code>.
+ */
+public final class CityCodec implements ElementCodec<City> {
+
+    @Override
+    public int encodedSize(City city) {
+        return Varints.sizeOf(city.getName());
+    }
+
+    @Override
+    public void encode(City city, ByteBuffer buffer) {
+        Varints.putString(Objects.requireNonNull(city.getName(), "the name of a city should not be null"), buffer);
+    }
+
+    @Override
+    public City decode(ByteBuffer buffer) {
+        int index = buffer.position();
+        String name = Varints.getString(buffer);
+        if (name == null) {
+            throw new IllegalArgumentException("the city at index " + index + " has a null name");
+        }
+        return new City(name);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ip.model;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.ElementCodec;
+import com.ip.utils.Varints;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The binary encoding of a {@link CityPerson}: its age as a zig-zag varint, followed by its name as a
+ * length-prefixed UTF-8 string.
+ */
+public final class CityPersonCodec implements ElementCodec<CityPerson> {
+
+    @Override
+    public int encodedSize(CityPerson person) {
+        return Varints.sizeOf(Varints.zigZag(person.getAge())) + Varints.sizeOf(person.getName());
+    }
+
+    @Override
+    public void encode(CityPerson person, ByteBuffer buffer) {
+        Varints.putInt(Varints.zigZag(person.getAge()), buffer);
+        Varints.putString(person.getName(), buffer);
+    }
+
+    @Override
+    public CityPerson decode(ByteBuffer buffer) {
+        int age = Varints.unZigZag(Varints.getInt(buffer));
+        return new CityPerson(Varints.getString(buffer), age);
+    }
+
+    /**
+     * @return a view that reads the persons written by this codec in place
+     */
+    public CityPersonView view() {
+        return new CityPersonView();
+    }
+}
@@ -0,0 +1,65 @@
+package com.ip.model;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.Varints;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A flyweight over a city person written by a {@link CityPersonCodec}, that reads its fields straight from the
+ * buffer. It is used as a {@link PersonView} is.
+ */
+public final class CityPersonView {
+
+    private ByteBuffer buffer;
+    private int index;
+
+    CityPersonView() {
+    }
+
+    public CityPersonView wrap(ByteBuffer buffer, int index) {
+        this.buffer = buffer;
+        this.index = index;
+        return this;
+    }
+
+    public int getAge() {
+        return Varints.unZigZag(Varints.getInt(buffer, index));
+    }
+
+    private int nameIndex() {
+        return index + Varints.sizeOf(Varints.getInt(buffer, index));
+    }
+
+    public String getName() {
+        return Varints.getString(buffer, nameIndex());
+    }
+
+    public boolean nameEquals(String name) {
+        return Varints.stringEquals(buffer, nameIndex(), name);
+    }
+
+    /**
+     * @return the index that follows this record, where the next record starts
+     */
+    public int end() {
+        return Varints.skipString(buffer, nameIndex());
+    }
+
+    public CityPerson toCityPerson() {
+        return new CityPerson(getName(), getAge());
+    }
+
+    @Override
+    public String toString() {
+        return "CityPersonView{" + "name=" + getName() + ", age=" + getAge() + '}';
+    }
+}
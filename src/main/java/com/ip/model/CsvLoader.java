@@ -0,0 +1,59 @@
+package com.ip.model;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.CsvReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Loads persons from CSV exports, which header names the columns after the properties of the model classes:
+ * <code>firstName,lastName,age</code> for {@link Person}, and <code>name,age</code> for {@link CityPerson}.
+ * The columns may come in any order, and other columns are skipped without being decoded.
+ * <p>
+ * The files are memory mapped, and the returned streams split well, so that a large file can be loaded in
+ * parallel by calling <code>parallel()</code> on them.
+ */
+public final class CsvLoader {
+
+    private CsvLoader() {
+    }
+
+    public static Stream<Person> persons(Path path) throws IOException {
+        CsvReader reader = CsvReader.open(path);
+        int firstName = reader.column("firstName");
+        int lastName = reader.column("lastName");
+        int age = reader.column("age");
+
+        return reader.records()
+                .map(record -> new Person(record.getString(firstName), record.getString(lastName), record.getInt(age)));
+    }
+
+    public static Stream<CityPerson> cityPersons(Path path) throws IOException {
+        CsvReader reader = CsvReader.open(path);
+        int name = reader.column("name");
+        int age = reader.column("age");
+
+        return reader.records()
+                .map(record -> new CityPerson(record.getString(name), record.getInt(age)));
+    }
+
+    /**
+     * @return the ages of the file, parsed from the mapped bytes, without reading the other columns
+     */
+    public static IntStream ages(Path path) throws IOException {
+        CsvReader reader = CsvReader.open(path);
+
+        return reader.ints(reader.column("age"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.ip.model;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.ElementCodec;
+import com.ip.utils.Varints;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The binary encoding of a {@link Person}: its age as a zig-zag varint, followed by its first name and its
+ * last name as length-prefixed UTF-8 strings. The age comes first so that a {@link PersonView} reads it without
+ * going through the names.
+ */
+public final class PersonCodec implements ElementCodec<Person> {
+
+    @Override
+    public int encodedSize(Person person) {
+        return Varints.sizeOf(Varints.zigZag(person.getAge()))
+                + Varints.sizeOf(person.getFirstName())
+                + Varints.sizeOf(person.getLastName());
+    }
+
+    @Override
+    public void encode(Person person, ByteBuffer buffer) {
+        Varints.putInt(Varints.zigZag(person.getAge()), buffer);
+        Varints.putString(person.getFirstName(), buffer);
+        Varints.putString(person.getLastName(), buffer);
+    }
+
+    @Override
+    public Person decode(ByteBuffer buffer) {
+        int age = Varints.unZigZag(Varints.getInt(buffer));
+        String firstName = Varints.getString(buffer);
+        String lastName = Varints.getString(buffer);
+        return new Person(firstName, lastName, age);
+    }
+
+    /**
+     * @return a view that reads the persons written by this codec in place
+     */
+    public PersonView view() {
+        return new PersonView();
+    }
+}
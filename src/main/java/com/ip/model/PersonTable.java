@@ -0,0 +1,326 @@
+package com.ip.model;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A table of persons stored by columns: the ages in an <code>int[]</code>, and the first and last names
+ * dictionary-encoded, each row holding the <code>int</code> code of its names. Filtering a column is a scan over
+ * a primitive array, that produces a selection: a <code>BitSet</code> of the selected rows. Selections are
+ * combined with the <code>and()</code> and <code>or()</code> methods of <code>BitSet</code>, and given to the
+ * aggregates, or to {@link #stream(BitSet)} to get the selected persons back.
+ * <pre>{@code
+ *     PersonTable table = persons.stream().collect(PersonTable.collector());
+ *     BitSet young = table.selectAgeBetween(18, 25);
+ *     young.and(table.selectLastName("sahu"));
+ *     double averageAge = table.ageStatistics(young).getAverage();
+ * }</pre>
+ * A table is not thread safe while rows are added, and can be read by several threads once built.
+ */
+public final class PersonTable {
+
+    private static final int NULL_CODE = -1;
+
+    private int size;
+    private int[] ages;
+    private int[] firstNames;
+    private int[] lastNames;
+    private final Dictionary firstNameDictionary = new Dictionary();
+    private final Dictionary lastNameDictionary = new Dictionary();
+
+    public PersonTable() {
+        this(16);
+    }
+
+    public PersonTable(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity should not be less than 0");
+        }
+        this.ages = new int[initialCapacity];
+        this.firstNames = new int[initialCapacity];
+        this.lastNames = new int[initialCapacity];
+    }
+
+    public static PersonTable of(Iterable<? extends Person> persons) {
+        Objects.requireNonNull(persons);
+
+        PersonTable table = new PersonTable();
+        persons.forEach(table::add);
+        return table;
+    }
+
+    /**
+     * @return a collector that builds a table, the rows being in the order of the stream
+     */
+    public static Collector<Person, ?, PersonTable> collector() {
+        return Collector.of(PersonTable::new, PersonTable::add, PersonTable::addAll);
+    }
+
+    public void add(Person person) {
+        Objects.requireNonNull(person);
+        ensureCapacity(size + 1);
+        ages[size] = person.getAge();
+        firstNames[size] = firstNameDictionary.encode(person.getFirstName());
+        lastNames[size] = lastNameDictionary.encode(person.getLastName());
+        size++;
+    }
+
+    /**
+     * Appends the rows of the other table, translating their codes to the dictionaries of this table.
+     */
+    public PersonTable addAll(PersonTable other) {
+        Objects.requireNonNull(other);
+        ensureCapacity(size + other.size);
+        int[] firstNameCodes = firstNameDictionary.encodeAll(other.firstNameDictionary);
+        int[] lastNameCodes = lastNameDictionary.encodeAll(other.lastNameDictionary);
+        System.arraycopy(other.ages, 0, ages, size, other.size);
+        for (int row = 0; row < other.size; row++) {
+            firstNames[size + row] = translate(firstNameCodes, other.firstNames[row]);
+            lastNames[size + row] = translate(lastNameCodes, other.lastNames[row]);
+        }
+        size += other.size;
+        return this;
+    }
+
+    private static int translate(int[] codes, int code) {
+        return code == NULL_CODE ? NULL_CODE : codes[code];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ages.length) {
+            int newCapacity = Math.max(capacity, ages.length + (ages.length >> 1) + 1);
+            ages = Arrays.copyOf(ages, newCapacity);
+            firstNames = Arrays.copyOf(firstNames, newCapacity);
+            lastNames = Arrays.copyOf(lastNames, newCapacity);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getAge(int row) {
+        checkRow(row);
+        return ages[row];
+    }
+
+    public String getFirstName(int row) {
+        checkRow(row);
+        return firstNameDictionary.decode(firstNames[row]);
+    }
+
+    public String getLastName(int row) {
+        checkRow(row);
+        return lastNameDictionary.decode(lastNames[row]);
+    }
+
+    public Person get(int row) {
+        checkRow(row);
+        return new Person(firstNameDictionary.decode(firstNames[row]), lastNameDictionary.decode(lastNames[row]), ages[row]);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " is not in a table of " + size + " rows");
+        }
+    }
+
+    /**
+     * Selects the rows which age is between the provided bounds, both included. The scan has no branch, so
+     * that it runs at the same speed whatever the selectivity.
+     */
+    public BitSet selectAgeBetween(int min, int max) {
+        if (min > max) {
+            return new BitSet();
+        }
+        long span = (long) max - min;
+        long[] words = new long[(size + 63) >>> 6];
+        for (int row = 0; row < size; row++) {
+            long offset = (ages[row] - min) & 0xFFFFFFFFL;
+            // 1 if offset <= span, computed on the sign of span - offset
+            long selected = ((span - offset) >>> 63) ^ 1L;
+            words[row >>> 6] |= selected << row;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    public BitSet selectAge(IntPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        BitSet selection = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            if (predicate.test(ages[row])) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * Selects the rows with the provided first name. The name is looked up once in the dictionary, and the scan
+     * compares the <code>int</code> codes of the rows.
+     */
+    public BitSet selectFirstName(String firstName) {
+        return selectCode(firstNames, firstNameDictionary.lookup(firstName));
+    }
+
+    public BitSet selectLastName(String lastName) {
+        return selectCode(lastNames, lastNameDictionary.lookup(lastName));
+    }
+
+    private BitSet selectCode(int[] column, Integer code) {
+        if (code == null) {
+            return new BitSet();
+        }
+        int value = code;
+        long[] words = new long[(size + 63) >>> 6];
+        for (int row = 0; row < size; row++) {
+            long selected = column[row] == value ? 1L : 0L;
+            words[row >>> 6] |= selected << row;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * @return a selection of all the rows of this table
+     */
+    public BitSet selectAll() {
+        BitSet selection = new BitSet(size);
+        selection.set(0, size);
+        return selection;
+    }
+
+    public IntSummaryStatistics ageStatistics() {
+        IntSummaryStatistics statistics = new IntSummaryStatistics();
+        for (int row = 0; row < size; row++) {
+            statistics.accept(ages[row]);
+        }
+        return statistics;
+    }
+
+    public IntSummaryStatistics ageStatistics(BitSet selection) {
+        Objects.requireNonNull(selection);
+
+        IntSummaryStatistics statistics = new IntSummaryStatistics();
+        for (int row = selection.nextSetBit(0); row >= 0 && row < size; row = selection.nextSetBit(row + 1)) {
+            statistics.accept(ages[row]);
+        }
+        return statistics;
+    }
+
+    /**
+     * Counts the selected rows by last name. The rows are counted by code in an <code>int[]</code>, and the
+     * codes are decoded once per last name.
+     *
+     * @return the number of selected rows for each last name, in the order the names first appeared in the table
+     */
+    public Map<String, Long> countByLastName(BitSet selection) {
+        Objects.requireNonNull(selection);
+
+        long[] counts = new long[lastNameDictionary.size()];
+        long nullCount = 0L;
+        for (int row = selection.nextSetBit(0); row >= 0 && row < size; row = selection.nextSetBit(row + 1)) {
+            int code = lastNames[row];
+            if (code == NULL_CODE) {
+                nullCount++;
+            } else {
+                counts[code]++;
+            }
+        }
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0L) {
+                map.put(lastNameDictionary.decode(code), counts[code]);
+            }
+        }
+        if (nullCount > 0L) {
+            map.put(null, nullCount);
+        }
+        return map;
+    }
+
+    public IntStream ages() {
+        return Arrays.stream(ages, 0, size);
+    }
+
+    /**
+     * @return the persons of this table, created as they are consumed
+     */
+    public Stream<Person> stream() {
+        return IntStream.range(0, size).mapToObj(this::get);
+    }
+
+    /**
+     * @return the selected persons, created as they are consumed
+     */
+    public Stream<Person> stream(BitSet selection) {
+        Objects.requireNonNull(selection);
+
+        return selection.stream().filter(row -> row < size).mapToObj(this::get);
+    }
+
+    /**
+     * Gives an <code>int</code> code to each distinct string, in the order they are first seen.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        /**
+         * @return the codes in this dictionary of the values of the other dictionary, indexed by their codes there
+         */
+        int[] encodeAll(Dictionary other) {
+            int[] translated = new int[other.values.size()];
+            for (int code = 0; code < translated.length; code++) {
+                translated[code] = encode(other.values.get(code));
+            }
+            return translated;
+        }
+
+        Integer lookup(String value) {
+            return value == null ? Integer.valueOf(NULL_CODE) : codes.get(value);
+        }
+
+        String decode(int code) {
+            return code == NULL_CODE ? null : values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ip.model;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.Varints;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A flyweight over a person written by a {@link PersonCodec}, that reads its fields straight from the buffer.
+ * A view is pointed at a record with {@link #wrap(ByteBuffer, int)}, and can be moved from record to record, so
+ * that a whole buffer can be scanned without creating any object:
+ * <pre>{@code
+ *     PersonView view = codec.view();
+ *     for (int index = 0; index < buffer.limit(); index = view.end()) {
+ *         if (view.wrap(buffer, index).getAge() > 20) {
+ *             adults.add(view.toPerson());
+ *         }
+ *     }
+ * }</pre>
+ * A view is not thread safe, and does not move the position of the buffer.
+ */
+public final class PersonView {
+
+    private ByteBuffer buffer;
+    private int index;
+    private int firstNameIndex;
+
+    PersonView() {
+    }
+
+    public PersonView wrap(ByteBuffer buffer, int index) {
+        this.buffer = buffer;
+        this.index = index;
+        this.firstNameIndex = -1;
+        return this;
+    }
+
+    public int getAge() {
+        return Varints.unZigZag(Varints.getInt(buffer, index));
+    }
+
+    private int firstNameIndex() {
+        if (firstNameIndex < 0) {
+            firstNameIndex = index + Varints.sizeOf(Varints.getInt(buffer, index));
+        }
+        return firstNameIndex;
+    }
+
+    private int lastNameIndex() {
+        return Varints.skipString(buffer, firstNameIndex());
+    }
+
+    public String getFirstName() {
+        return Varints.getString(buffer, firstNameIndex());
+    }
+
+    public String getLastName() {
+        return Varints.getString(buffer, lastNameIndex());
+    }
+
+    public boolean firstNameEquals(String firstName) {
+        return Varints.stringEquals(buffer, firstNameIndex(), firstName);
+    }
+
+    public boolean lastNameEquals(String lastName) {
+        return Varints.stringEquals(buffer, lastNameIndex(), lastName);
+    }
+
+    /**
+     * @return the index that follows this record, where the next record starts
+     */
+    public int end() {
+        return Varints.skipString(buffer, lastNameIndex());
+    }
+
+    public Person toPerson() {
+        return new Person(getFirstName(), getLastName(), getAge());
+    }
+
+    @Override
+    public String toString() {
+        return "PersonView{" + "firstName=" + getFirstName() + ", lastName=" + getLastName() + ", age=" + getAge() + '}';
+    }
+}
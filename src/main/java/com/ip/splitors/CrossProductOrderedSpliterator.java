@@ -15,8 +15,6 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Created by Pratap
@@ -24,17 +22,32 @@ import java.util.stream.Stream;
 public class CrossProductOrderedSpliterator<E> implements Spliterator<Map.Entry<E, E>> {
 
     private Spliterator<E> spliterator;
-    private List<E> buffer = new ArrayList<>();
+    private final ElementBuffer<E> buffer;
     private UnaryOperator<Long> estimateSize;
 
-    private final Function<Consumer<? super Map.Entry<E, E>>, BiConsumer<E, E>> function;
+    private final ArrayDeque<Map.Entry<E, E>> entries = new ArrayDeque<>();
+    private final BiConsumer<E, E> biConsumer;
     private boolean hasMore = true;
-    private Iterator<Map.Entry<E, E>> iterator;
-    private boolean consumingIterator = false;
+    private E current;
+    private Iterator<E> row;
 
     public static <E> CrossProductOrderedSpliterator<E> ordered(Spliterator<E> spliterator, Comparator<E> comparator) {
+        return ordered(spliterator, comparator, ElementBuffer.onHeap());
+    }
+
+    public static <E> CrossProductOrderedSpliterator<E> noDoubles(Spliterator<E> spliterator) {
+        return noDoubles(spliterator, ElementBuffer.onHeap());
+    }
+
+    public static <E> CrossProductOrderedSpliterator<E> of(Spliterator<E> spliterator) {
+        return of(spliterator, ElementBuffer.onHeap());
+    }
+
+    public static <E> CrossProductOrderedSpliterator<E> ordered(
+            Spliterator<E> spliterator, Comparator<E> comparator, ElementBuffer<E> buffer) {
         return new CrossProductOrderedSpliterator<>(
                 spliterator,
+                buffer,
                 a -> (e1, e2) -> {
                     int compare = comparator.compare(e2, e1);
                     if (compare > 0) {
@@ -47,9 +60,10 @@ public class CrossProductOrderedSpliterator<E> implements Spliterator<Map.Entry<
                         Long.MAX_VALUE : estimateSize * (estimateSize - 1) / 2);
     }
 
-    public static <E> CrossProductOrderedSpliterator<E> noDoubles(Spliterator<E> spliterator) {
+    public static <E> CrossProductOrderedSpliterator<E> noDoubles(Spliterator<E> spliterator, ElementBuffer<E> buffer) {
         return new CrossProductOrderedSpliterator<>(
                 spliterator,
+                buffer,
                 a -> (e1, e2) -> {
                     if (!e1.equals(e2)) {
                         a.accept(new AbstractMap.SimpleImmutableEntry<>(e1, e2));
@@ -60,9 +74,10 @@ public class CrossProductOrderedSpliterator<E> implements Spliterator<Map.Entry<
                         Long.MAX_VALUE : (estimateSize * (estimateSize - 1)));
     }
 
-    public static <E> CrossProductOrderedSpliterator<E> of(Spliterator<E> spliterator) {
+    public static <E> CrossProductOrderedSpliterator<E> of(Spliterator<E> spliterator, ElementBuffer<E> buffer) {
         return new CrossProductOrderedSpliterator<>(
                 spliterator,
+                buffer,
                 a -> (e1, e2) -> {
                     if (e1.equals(e2)) {
                         a.accept(new AbstractMap.SimpleImmutableEntry<>(e1, e2));
@@ -78,54 +93,48 @@ public class CrossProductOrderedSpliterator<E> implements Spliterator<Map.Entry<
 
     private CrossProductOrderedSpliterator(
             Spliterator<E> spliterator,
+            ElementBuffer<E> buffer,
             Function<Consumer<? super Map.Entry<E, E>>, BiConsumer<E, E>> function,
             UnaryOperator<Long> estimateSize) {
 
         this.spliterator = spliterator;
-        this.function = function;
+        this.buffer = buffer;
+        this.biConsumer = function.apply(entries::add);
         this.estimateSize = estimateSize;
     }
 
     @Override
     public boolean tryAdvance(Consumer<? super Map.Entry<E, E>> action) {
 
-        Stream.Builder<Map.Entry<E, E>> builder = Stream.builder();
-        if (consumingIterator) {
-            if (iterator.hasNext()) {
-                action.accept(iterator.next());
-                return true;
+        // each row is read back from the buffer one element at a time, so a row is never materialized
+        while (entries.isEmpty()) {
+            if (row != null && row.hasNext()) {
+                biConsumer.accept(current, row.next());
+            } else if (hasMore) {
+                row = null;
+                hasMore = spliterator.tryAdvance(
+                        e1 -> {
+                            buffer.add(e1);
+                            current = e1;
+                            row = buffer.iterator();
+                        }
+                );
             } else {
-                consumingIterator = false;
+                current = null;
+                buffer.close();
+                return false;
             }
         }
-        if (hasMore) {
-            fillBuilder(builder);
-            consumingIterator = true;
-        }
 
-        List<Map.Entry<E, E>> entryList = builder.build().collect(Collectors.toList());
-        while (entryList.isEmpty() && hasMore) {
-            builder = Stream.builder();
-            fillBuilder(builder);
-            entryList = builder.build().collect(Collectors.toList());
-        }
-        iterator = entryList.iterator();
-        if (iterator.hasNext()) {
-            action.accept(iterator.next());
-            return true;
-        }
-
-        return false;
+        action.accept(entries.poll());
+        return true;
     }
 
-    private void fillBuilder(Stream.Builder<Map.Entry<E, E>> builder) {
-        BiConsumer<E, E> biConsumer = function.apply(builder::add);
-        hasMore = spliterator.tryAdvance(
-                e1 -> {
-                    buffer.add(e1);
-                    buffer.forEach(e2 -> biConsumer.accept(e1, e2));
-                }
-        );
+    /**
+     * Releases the resources held by the buffer of this spliterator.
+     */
+    public void close() {
+        buffer.close();
     }
 
     @Override
@@ -10,44 +10,54 @@ package com.ip.splitors;
  */
 
 
-import java.util.List;
 import java.util.Objects;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  * Created by pratap
  */
 public class CyclingSpliterator<E> implements Spliterator<Stream<E>> {
 
-    private final List<E> list;
+    private final ElementBuffer<E> buffer;
 
     public static <E> CyclingSpliterator<E> of(Spliterator<E> spliterator) {
-        Objects.requireNonNull(spliterator);
-        return new CyclingSpliterator<>(spliterator);
+        return of(spliterator, ElementBuffer.onHeap());
     }
 
-    private CyclingSpliterator(List<E> list) {
-        this.list = list;
+    /**
+     * The elements of the provided spliterator are stored in the provided buffer, that is then shared by the
+     * splits of the returned spliterator, and read once per cycle.
+     */
+    public static <E> CyclingSpliterator<E> of(Spliterator<E> spliterator, ElementBuffer<E> buffer) {
+        Objects.requireNonNull(spliterator);
+        Objects.requireNonNull(buffer);
+        spliterator.forEachRemaining(buffer::add);
+        return new CyclingSpliterator<>(buffer);
     }
 
-    private CyclingSpliterator(Spliterator<E> spliterator) {
-        this.list = StreamSupport.stream(spliterator, false).collect(toList());
+    private CyclingSpliterator(ElementBuffer<E> buffer) {
+        this.buffer = buffer;
     }
 
     @Override
     public boolean tryAdvance(Consumer<? super Stream<E>> action) {
-        action.accept(list.stream());
+        action.accept(StreamSupport.stream(buffer.spliterator(), false));
         return true;
     }
 
+    /**
+     * Releases the resources held by the buffer of this spliterator, that is shared with its splits.
+     */
+    public void close() {
+        buffer.close();
+    }
+
     @Override
     public Spliterator<Stream<E>> trySplit() {
-        return new CyclingSpliterator<>(list);
+        return new CyclingSpliterator<>(buffer);
     }
 
     @Override
@@ -0,0 +1,120 @@
+package com.ip.splitors;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * See the documentation and patterns to be used in this class in the {@link com.ip.utils.StreamsUtils} factory class.
+ */
+public class DistinctFilteringSpliterator<E> implements Spliterator<E> {
+
+    private final Spliterator<E> spliterator;
+    private final Predicate<? super E> firstSeen;
+    private final boolean shared;
+    private final boolean distinct;
+
+    private E current;
+
+    /**
+     * The provided predicate returns <code>true</code> for the elements that should be kept, and records them
+     * as seen. It is shared by the split spliterators, so it has to be thread safe.
+     */
+    public static <E> DistinctFilteringSpliterator<E> of(Spliterator<E> spliterator, Predicate<? super E> firstSeen) {
+        Objects.requireNonNull(spliterator);
+        Objects.requireNonNull(firstSeen);
+
+        return new DistinctFilteringSpliterator<>(spliterator, firstSeen, true, true);
+    }
+
+    /**
+     * Keeps the elements that are not among the last <code>windowSize</code> different elements seen. This
+     * spliterator cannot be split.
+     */
+    public static <E> DistinctFilteringSpliterator<E> window(Spliterator<E> spliterator, int windowSize) {
+        Objects.requireNonNull(spliterator);
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize should not be less than 1");
+        }
+
+        Map<E, Boolean> window = new LinkedHashMap<E, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<E, Boolean> eldest) {
+                return size() > windowSize;
+            }
+        };
+        return new DistinctFilteringSpliterator<>(spliterator, e -> window.put(e, Boolean.TRUE) == null, false, false);
+    }
+
+    private DistinctFilteringSpliterator(
+            Spliterator<E> spliterator, Predicate<? super E> firstSeen, boolean shared, boolean distinct) {
+        this.spliterator = spliterator;
+        this.firstSeen = firstSeen;
+        this.shared = shared;
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        boolean hasMore = true;
+        boolean found = false;
+        while (hasMore && !found) {
+            hasMore = spliterator.tryAdvance(e -> current = e);
+            found = hasMore && firstSeen.test(current);
+        }
+        if (found) {
+            E e = current;
+            current = null;
+            action.accept(e);
+        }
+        return found;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        spliterator.forEachRemaining(e -> {
+            if (firstSeen.test(e)) {
+                action.accept(e);
+            }
+        });
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        if (!shared) {
+            return null;
+        }
+        Spliterator<E> splitSpliterator = spliterator.trySplit();
+        return splitSpliterator == null ? null :
+                new DistinctFilteringSpliterator<>(splitSpliterator, firstSeen, true, distinct);
+    }
+
+    @Override
+    public long estimateSize() {
+        return spliterator.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = spliterator.characteristics() & ~Spliterator.SIZED & ~Spliterator.SUBSIZED;
+        return distinct ? characteristics | Spliterator.DISTINCT : characteristics;
+    }
+
+    @Override
+    public Comparator<? super E> getComparator() {
+        return spliterator.getComparator();
+    }
+}
@@ -0,0 +1,75 @@
+package com.ip.splitors;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * An append-only buffer of elements, replayed in the order they have been added. It is used by the spliterators
+ * that need to go over the elements they have already seen, and lets them keep these elements somewhere else
+ * than in an on-heap list.
+ */
+public interface ElementBuffer<E> extends Iterable<E> {
+
+    public void add(E e);
+
+    public long size();
+
+    /**
+     * @return an <code>ORDERED</code> and <code>SIZED</code> spliterator over the elements added so far
+     */
+    @Override
+    public default Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Releases the resources held by this buffer. The buffer should not be used after this call.
+     */
+    public default void close() {
+    }
+
+    public static <E> ElementBuffer<E> onHeap() {
+        return new ElementBuffer<E>() {
+
+            private final List<E> list = new ArrayList<>();
+
+            @Override
+            public void add(E e) {
+                list.add(e);
+            }
+
+            @Override
+            public long size() {
+                return list.size();
+            }
+
+            @Override
+            public Iterator<E> iterator() {
+                return list.iterator();
+            }
+
+            @Override
+            public Spliterator<E> spliterator() {
+                return list.spliterator();
+            }
+
+            @Override
+            public void forEach(Consumer<? super E> action) {
+                list.forEach(action);
+            }
+        };
+    }
+}
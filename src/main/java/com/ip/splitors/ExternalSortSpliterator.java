@@ -0,0 +1,256 @@
+package com.ip.splitors;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.ElementCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * See the documentation and patterns to be used in this class in the {@link com.ip.utils.StreamsUtils} factory class.
+ * <p>
+ * The source is read in runs of at most <code>runSize</code> elements. Each run is sorted in parallel and, unless
+ * the whole source fits in a single run, written to a temporary file with the provided codec. The run files are
+ * then mapped in memory and merged with a {@link MergingSortedSpliterator}.
+ */
+public class ExternalSortSpliterator<E> implements Spliterator<E> {
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final long MAX_RUN_FILE_SIZE = Integer.MAX_VALUE;
+
+    private final Spliterator<E> spliterator;
+    private final Comparator<? super E> comparator;
+    private final ElementCodec<E> codec;
+    private final int runSize;
+    private final Path directory;
+
+    private final List<Path> runFiles = new ArrayList<>();
+    private Spliterator<E> sorted;
+    private long estimateSize;
+    private E current;
+
+    public static <E> ExternalSortSpliterator<E> of(
+            Spliterator<E> spliterator, Comparator<? super E> comparator,
+            ElementCodec<E> codec, int runSize, Path directory) {
+        Objects.requireNonNull(spliterator);
+        Objects.requireNonNull(comparator);
+        Objects.requireNonNull(codec);
+        Objects.requireNonNull(directory);
+        if (runSize < 1) {
+            throw new IllegalArgumentException("runSize should not be less than 1");
+        }
+
+        return new ExternalSortSpliterator<>(spliterator, comparator, codec, runSize, directory);
+    }
+
+    private ExternalSortSpliterator(
+            Spliterator<E> spliterator, Comparator<? super E> comparator,
+            ElementCodec<E> codec, int runSize, Path directory) {
+        this.spliterator = spliterator;
+        this.comparator = comparator;
+        this.codec = codec;
+        this.runSize = runSize;
+        this.directory = directory;
+        this.estimateSize = spliterator.estimateSize();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (sorted == null) {
+            sorted = sort();
+        }
+        if (sorted.tryAdvance(action)) {
+            estimateSize--;
+            return true;
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Spliterator<E> sort() {
+        E[] run = (E[]) new Object[(int) Math.min(runSize, Math.max(16L, estimateSize))];
+        List<Spliterator<E>> runs = new ArrayList<>();
+        long count = 0L;
+        boolean hasMore = true;
+        boolean pending = false;
+        Consumer<E> grab = e -> current = e;
+        while (hasMore) {
+            int size = 0;
+            if (pending) {
+                run[size++] = current;
+                pending = false;
+            }
+            while (size < runSize && (hasMore = spliterator.tryAdvance(grab))) {
+                run[size++] = current;
+                if (size == run.length && size < runSize) {
+                    run = Arrays.copyOf(run, (int) Math.min(runSize, 2L * run.length));
+                }
+            }
+            if (hasMore && runs.isEmpty()) {
+                // a source of exactly runSize elements is kept in memory: look one element ahead before spilling
+                hasMore = spliterator.tryAdvance(grab);
+                pending = hasMore;
+            }
+            if (!pending) {
+                current = null;
+            }
+            count += size;
+            Arrays.parallelSort(run, 0, size, comparator);
+            if (!hasMore && runs.isEmpty()) {
+                // everything fits in memory, nothing to spill
+                estimateSize = size;
+                return Spliterators.spliterator(run, 0, size, Spliterator.ORDERED);
+            }
+            if (size > 0) {
+                spill(run, size, runs);
+            }
+            Arrays.fill(run, 0, size, null);
+        }
+        estimateSize = count;
+        return MergingSortedSpliterator.of(runs, comparator);
+    }
+
+    private void spill(E[] run, int size, List<Spliterator<E>> runs) {
+        try {
+            Path file = null;
+            FileChannel channel = null;
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            long written = 0L;
+            try {
+                for (int i = 0; i < size; i++) {
+                    int encodedSize = codec.encodedSize(run[i]);
+                    if (channel == null || written + buffer.position() + encodedSize > MAX_RUN_FILE_SIZE) {
+                        // a sorted run cut in two gives two sorted runs
+                        if (channel != null) {
+                            written += flush(buffer, channel);
+                            channel.close();
+                            runs.add(new MappedRunSpliterator<>(map(file, written), codec, file));
+                        }
+                        file = Files.createTempFile(directory, "external-sort-", ".run");
+                        runFiles.add(file);
+                        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+                        written = 0L;
+                    }
+                    if (buffer.remaining() < encodedSize) {
+                        written += flush(buffer, channel);
+                        if (buffer.capacity() < encodedSize) {
+                            buffer = ByteBuffer.allocate(encodedSize);
+                        }
+                    }
+                    codec.encode(run[i], buffer);
+                }
+                written += flush(buffer, channel);
+            } finally {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+            runs.add(new MappedRunSpliterator<>(map(file, written), codec, file));
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        long written = 0L;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+        return written;
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+        }
+    }
+
+    /**
+     * Deletes the run files that have not been fully read yet.
+     */
+    public void close() {
+        for (Path file : runFiles) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignore) {
+            }
+        }
+        runFiles.clear();
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimateSize;
+    }
+
+    @Override
+    public int characteristics() {
+        return (spliterator.characteristics() & Spliterator.SIZED)
+                | Spliterator.ORDERED | Spliterator.SORTED;
+    }
+
+    @Override
+    public Comparator<? super E> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Reads the elements of a spilled run from its memory mapping, and deletes the file once it has been read.
+     */
+    private static class MappedRunSpliterator<E> extends Spliterators.AbstractSpliterator<E> {
+
+        private final MappedByteBuffer buffer;
+        private final ElementCodec<E> codec;
+        private final Path file;
+
+        private MappedRunSpliterator(MappedByteBuffer buffer, ElementCodec<E> codec, Path file) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.buffer = buffer;
+            this.codec = codec;
+            this.file = file;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (!buffer.hasRemaining()) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException ignore) {
+                }
+                return false;
+            }
+            action.accept(codec.decode(buffer));
+            return true;
+        }
+    }
+}
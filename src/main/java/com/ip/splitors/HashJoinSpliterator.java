@@ -0,0 +1,78 @@
+package com.ip.splitors;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * See the documentation and patterns to be used in this class in the {@link com.ip.utils.StreamsUtils} factory class.
+ * <p>
+ * Streams the probe side of a join. For each probe element, the joiner pushes the joined elements to the provided
+ * consumer. The joiner is shared by the split spliterators, so it has to be thread safe.
+ */
+public class HashJoinSpliterator<P, R> implements Spliterator<R> {
+
+    private final Spliterator<P> spliterator;
+    private final BiConsumer<? super P, Consumer<? super R>> joiner;
+    private final ArrayDeque<R> joined = new ArrayDeque<>();
+    private final Consumer<R> buffer = joined::add;
+
+    public static <P, R> HashJoinSpliterator<P, R> of(
+            Spliterator<P> spliterator, BiConsumer<? super P, Consumer<? super R>> joiner) {
+        Objects.requireNonNull(spliterator);
+        Objects.requireNonNull(joiner);
+
+        return new HashJoinSpliterator<>(spliterator, joiner);
+    }
+
+    private HashJoinSpliterator(Spliterator<P> spliterator, BiConsumer<? super P, Consumer<? super R>> joiner) {
+        this.spliterator = spliterator;
+        this.joiner = joiner;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        while (joined.isEmpty()) {
+            if (!spliterator.tryAdvance(p -> joiner.accept(p, buffer))) {
+                return false;
+            }
+        }
+        action.accept(joined.poll());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+        while (!joined.isEmpty()) {
+            action.accept(joined.poll());
+        }
+        spliterator.forEachRemaining(p -> joiner.accept(p, action));
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        Spliterator<P> splitSpliterator = spliterator.trySplit();
+        return splitSpliterator == null ? null : new HashJoinSpliterator<>(splitSpliterator, joiner);
+    }
+
+    @Override
+    public long estimateSize() {
+        return spliterator.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return spliterator.characteristics() & Spliterator.ORDERED;
+    }
+}
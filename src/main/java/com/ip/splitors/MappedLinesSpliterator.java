@@ -0,0 +1,135 @@
+package com.ip.splitors;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.MappedFile;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * See the documentation and patterns to be used in this class in the {@link com.ip.utils.StreamsUtils} factory class.
+ * <p>
+ * Goes through the lines of a memory mapped file, and hands the bytes of each line to a decoder. Splitting cuts
+ * the remaining bytes at the first line break after their middle, so that no line is read twice, and costs no
+ * more than reading one line. The lines are decoded lazily, by the thread that consumes them.
+ */
+public class MappedLinesSpliterator<T> implements Spliterator<T> {
+
+    public static final int MIN_SPLIT_SIZE = 1 << 16;
+    private static final int AVERAGE_LINE_LENGTH = 80;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    /**
+     * Decodes the bytes of a line, from <code>start</code> included to <code>end</code> excluded, the line
+     * break being excluded.
+     */
+    @FunctionalInterface
+    public interface LineDecoder<T> {
+
+        public T decode(MappedFile file, long start, long end);
+
+        /**
+         * @throws IllegalArgumentException if the charset does not encode a line feed on the single byte 0x0A
+         */
+        public static LineDecoder<String> ofStrings(Charset charset) {
+            Objects.requireNonNull(charset);
+            if (!Arrays.equals("\n".getBytes(charset), new byte[]{LF})) {
+                throw new IllegalArgumentException("charset should encode a line feed as a single byte: " + charset);
+            }
+
+            return (file, start, end) -> {
+                byte[] bytes = new byte[(int) (end - start)];
+                file.get(start, bytes, 0, bytes.length);
+                return new String(bytes, charset);
+            };
+        }
+    }
+
+    private final MappedFile file;
+    private final LineDecoder<? extends T> decoder;
+    private long position;
+    private final long end;
+
+    public static <T> MappedLinesSpliterator<T> of(MappedFile file, LineDecoder<? extends T> decoder) {
+        Objects.requireNonNull(file);
+        return of(file, 0L, decoder);
+    }
+
+    /**
+     * Builds a spliterator over the lines of the file that follow <code>from</code>, which should be the start of
+     * a line. The decoder should not return <code>null</code>.
+     */
+    public static <T> MappedLinesSpliterator<T> of(MappedFile file, long from, LineDecoder<? extends T> decoder) {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(decoder);
+        if (from < 0L || from > file.size()) {
+            throw new IllegalArgumentException("from should be between 0 and the size of the file");
+        }
+
+        return new MappedLinesSpliterator<>(file, decoder, from, file.size());
+    }
+
+    private MappedLinesSpliterator(MappedFile file, LineDecoder<? extends T> decoder, long position, long end) {
+        this.file = file;
+        this.decoder = decoder;
+        this.position = position;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (position >= end) {
+            return false;
+        }
+        long lineFeed = file.indexOf(LF, position, end);
+        long lineEnd = lineFeed < 0L ? end : lineFeed;
+        if (lineEnd > position && file.byteAt(lineEnd - 1L) == CR) {
+            lineEnd--;
+        }
+        long start = position;
+        position = lineFeed < 0L ? end : lineFeed + 1L;
+        action.accept(decoder.decode(file, start, lineEnd));
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (end - position < MIN_SPLIT_SIZE) {
+            return null;
+        }
+        long middle = position + (end - position) / 2L;
+        long lineFeed = file.indexOf(LF, middle, end);
+        if (lineFeed < 0L || lineFeed + 1L >= end) {
+            return null;
+        }
+        MappedLinesSpliterator<T> prefix = new MappedLinesSpliterator<>(file, decoder, position, lineFeed + 1L);
+        position = lineFeed + 1L;
+        return prefix;
+    }
+
+    /**
+     * The number of lines is not known without reading them, so it is estimated from the number of bytes left.
+     */
+    @Override
+    public long estimateSize() {
+        return (end - position + AVERAGE_LINE_LENGTH - 1L) / AVERAGE_LINE_LENGTH;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+    }
+}
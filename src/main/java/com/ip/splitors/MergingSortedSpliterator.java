@@ -0,0 +1,161 @@
+package com.ip.splitors;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * See the documentation and patterns to be used in this class in the {@link com.ip.utils.StreamsUtils} factory class.
+ * <p>
+ * The sources are merged with a loser tree: each internal node keeps the source that lost the match played at
+ * this node, and the root keeps the overall winner. Replacing the winner only replays the matches on the path
+ * from its leaf to the root, so each element costs about log2(k) comparisons.
+ */
+public class MergingSortedSpliterator<E> implements Spliterator<E> {
+
+    private final Spliterator<E>[] spliterators;
+    private final Comparator<? super E> comparator;
+
+    private final Object[] heads;
+    private final boolean[] exhausted;
+    private final int[] tree;
+    private boolean started = false;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <E> MergingSortedSpliterator<E> of(List<Spliterator<E>> spliterators, Comparator<? super E> comparator) {
+        Objects.requireNonNull(spliterators);
+        Objects.requireNonNull(comparator);
+        spliterators.forEach(Objects::requireNonNull);
+
+        return new MergingSortedSpliterator<>(spliterators.toArray(new Spliterator[0]), comparator);
+    }
+
+    private MergingSortedSpliterator(Spliterator<E>[] spliterators, Comparator<? super E> comparator) {
+        this.spliterators = spliterators;
+        this.comparator = comparator;
+        this.heads = new Object[spliterators.length];
+        this.exhausted = new boolean[spliterators.length];
+        this.tree = new int[Math.max(1, spliterators.length)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (spliterators.length == 0) {
+            return false;
+        }
+        if (!started) {
+            for (int i = 0; i < spliterators.length; i++) {
+                pull(i);
+            }
+            build();
+            started = true;
+        }
+
+        int winner = tree[0];
+        if (exhausted[winner]) {
+            return false;
+        }
+        E e = (E) heads[winner];
+        pull(winner);
+        replay(winner);
+        action.accept(e);
+        return true;
+    }
+
+    private void pull(int source) {
+        exhausted[source] = !spliterators[source].tryAdvance(e -> heads[source] = e);
+        if (exhausted[source]) {
+            heads[source] = null;
+        }
+    }
+
+    private void build() {
+        int k = spliterators.length;
+        int[] winners = new int[2 * k];
+        for (int i = 0; i < k; i++) {
+            winners[k + i] = i;
+        }
+        for (int node = k - 1; node >= 1; node--) {
+            int left = winners[2 * node];
+            int right = winners[2 * node + 1];
+            if (beats(left, right)) {
+                winners[node] = left;
+                tree[node] = right;
+            } else {
+                winners[node] = right;
+                tree[node] = left;
+            }
+        }
+        tree[0] = k == 1 ? 0 : winners[1];
+    }
+
+    private void replay(int source) {
+        int winner = source;
+        for (int node = (source + spliterators.length) >>> 1; node >= 1; node >>>= 1) {
+            if (beats(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /**
+     * Exhausted sources lose every match, and ties are won by the first source, to keep the merge stable.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean beats(int i, int j) {
+        if (exhausted[i] || exhausted[j]) {
+            return !exhausted[i];
+        }
+        int compare = comparator.compare((E) heads[i], (E) heads[j]);
+        return compare < 0 || (compare == 0 && i < j);
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        long estimateSize = 0L;
+        for (int i = 0; i < spliterators.length; i++) {
+            estimateSize += spliterators[i].estimateSize();
+            if (started && !exhausted[i]) {
+                estimateSize++;
+            }
+            if (estimateSize < 0L) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return estimateSize;
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = Spliterator.SIZED | Spliterator.NONNULL;
+        for (Spliterator<E> spliterator : spliterators) {
+            characteristics &= spliterator.characteristics();
+        }
+        return characteristics | Spliterator.ORDERED | Spliterator.SORTED;
+    }
+
+    @Override
+    public Comparator<? super E> getComparator() {
+        return comparator;
+    }
+}
@@ -0,0 +1,130 @@
+package com.ip.splitors;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.ElementCodec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * An element buffer that stores its elements encoded in direct <code>ByteBuffer</code> slabs, outside of the heap.
+ * Only the slabs are seen by the garbage collector, whatever the number of elements.
+ * <p>
+ * Elements are decoded on read, straight from a read-only view of the slabs, so the codec may return flyweight
+ * objects that read their fields from the buffer. Once filled, the buffer can be read by several threads.
+ */
+public class OffHeapElementBuffer<E> implements ElementBuffer<E> {
+
+    public static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+    private final ElementCodec<E> codec;
+    private final int slabSize;
+
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private ByteBuffer slab;
+    private long size;
+
+    public static <E> OffHeapElementBuffer<E> of(ElementCodec<E> codec) {
+        return of(codec, DEFAULT_SLAB_SIZE);
+    }
+
+    public static <E> OffHeapElementBuffer<E> of(ElementCodec<E> codec, int slabSize) {
+        Objects.requireNonNull(codec);
+        if (slabSize < 1) {
+            throw new IllegalArgumentException("slabSize should not be less than 1");
+        }
+
+        return new OffHeapElementBuffer<>(codec, slabSize);
+    }
+
+    private OffHeapElementBuffer(ElementCodec<E> codec, int slabSize) {
+        this.codec = codec;
+        this.slabSize = slabSize;
+    }
+
+    @Override
+    public void add(E e) {
+        int encodedSize = codec.encodedSize(e);
+        if (slab == null || slab.remaining() < encodedSize) {
+            // an element never straddles two slabs, a larger element gets a slab of its own
+            slab = ByteBuffer.allocateDirect(Math.max(slabSize, encodedSize));
+            slabs.add(slab);
+        }
+        codec.encode(e, slab);
+        size++;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        for (ByteBuffer slab : slabs) {
+            ByteBuffer reader = reader(slab);
+            while (reader.hasRemaining()) {
+                action.accept(codec.decode(reader));
+            }
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        List<ByteBuffer> readers = new ArrayList<>(slabs.size());
+        slabs.forEach(slab -> readers.add(reader(slab)));
+
+        return new Iterator<E>() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (index < readers.size() && !readers.get(index).hasRemaining()) {
+                    index++;
+                }
+                return index < readers.size();
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return codec.decode(readers.get(index));
+            }
+        };
+    }
+
+    /**
+     * @return a read-only view of the bytes written so far in the slab, that does not move the slab position
+     */
+    private static ByteBuffer reader(ByteBuffer slab) {
+        ByteBuffer reader = slab.asReadOnlyBuffer();
+        reader.flip();
+        return reader;
+    }
+
+    /**
+     * Drops the slabs, their memory is given back when they are collected.
+     */
+    @Override
+    public void close() {
+        slabs.clear();
+        slab = null;
+        size = 0L;
+    }
+}
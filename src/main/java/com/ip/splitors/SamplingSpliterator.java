@@ -0,0 +1,77 @@
+package com.ip.splitors;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.Reservoir;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+
+/**
+ * See the documentation and patterns to be used in this class in the {@link com.ip.utils.StreamsUtils} factory class.
+ */
+public class SamplingSpliterator<E> implements Spliterator<E> {
+
+    private final Spliterator<E> spliterator;
+    private final int sampleSize;
+    private final boolean parallel;
+    private Iterator<E> sample;
+    private int remaining;
+
+    public static <E> SamplingSpliterator<E> of(Spliterator<E> spliterator, int sampleSize, boolean parallel) {
+        Objects.requireNonNull(spliterator);
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("sampleSize should not be less than 1");
+        }
+
+        return new SamplingSpliterator<>(spliterator, sampleSize, parallel);
+    }
+
+    private SamplingSpliterator(Spliterator<E> spliterator, int sampleSize, boolean parallel) {
+        this.spliterator = spliterator;
+        this.sampleSize = sampleSize;
+        this.parallel = parallel;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (sample == null) {
+            List<E> elements = StreamSupport.stream(spliterator, parallel).collect(Reservoir.sampling(sampleSize));
+            sample = elements.iterator();
+            remaining = elements.size();
+        }
+        if (sample.hasNext()) {
+            remaining--;
+            action.accept(sample.next());
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return sample == null ? Math.min(sampleSize, spliterator.estimateSize()) : remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return spliterator.characteristics()
+                & ~Spliterator.ORDERED & ~Spliterator.SORTED & ~Spliterator.SIZED & ~Spliterator.SUBSIZED;
+    }
+}
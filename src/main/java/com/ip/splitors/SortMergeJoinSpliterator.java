@@ -0,0 +1,160 @@
+package com.ip.splitors;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * See the documentation and patterns to be used in this class in the {@link com.ip.utils.StreamsUtils} factory class.
+ * <p>
+ * Both spliterators are walked in lockstep. Only the group of right elements sharing the current key is
+ * buffered, so that it can be replayed for each left element with the same key.
+ */
+public class SortMergeJoinSpliterator<L, R, K> implements Spliterator<Map.Entry<L, R>> {
+
+    private final Spliterator<L> left;
+    private final Spliterator<R> right;
+    private final Function<? super L, ? extends K> leftKey;
+    private final Function<? super R, ? extends K> rightKey;
+    private final Comparator<? super K> comparator;
+
+    private L currentLeft;
+    private K currentLeftKey;
+    private boolean hasLeftKey = false;
+
+    private R pendingRight;
+    private K pendingRightKey;
+    private boolean hasPendingRight = false;
+    private boolean rightStarted = false;
+
+    private final List<R> group = new ArrayList<>();
+    private K groupKey;
+    private boolean groupMatches = false;
+    private int groupIndex;
+
+    public static <L, R, K> SortMergeJoinSpliterator<L, R, K> of(
+            Spliterator<L> left, Spliterator<R> right,
+            Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey,
+            Comparator<? super K> comparator) {
+        Objects.requireNonNull(left);
+        Objects.requireNonNull(right);
+        Objects.requireNonNull(leftKey);
+        Objects.requireNonNull(rightKey);
+        Objects.requireNonNull(comparator);
+
+        if ((left.characteristics() & Spliterator.ORDERED) == 0 || (right.characteristics() & Spliterator.ORDERED) == 0) {
+            throw new IllegalArgumentException(("Why would you try to merge join a non-ORDERED spliterator?"));
+        }
+
+        return new SortMergeJoinSpliterator<>(left, right, leftKey, rightKey, comparator);
+    }
+
+    private SortMergeJoinSpliterator(
+            Spliterator<L> left, Spliterator<R> right,
+            Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey,
+            Comparator<? super K> comparator) {
+        this.left = left;
+        this.right = right;
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Map.Entry<L, R>> action) {
+        while (true) {
+            if (groupMatches && groupIndex < group.size()) {
+                action.accept(new AbstractMap.SimpleImmutableEntry<>(currentLeft, group.get(groupIndex++)));
+                return true;
+            }
+            if (!advanceLeft()) {
+                return false;
+            }
+            groupIndex = 0;
+            if (!group.isEmpty() && comparator.compare(groupKey, currentLeftKey) == 0) {
+                groupMatches = true;
+                continue;
+            }
+
+            groupMatches = false;
+            group.clear();
+            if (!rightStarted) {
+                advanceRight();
+                rightStarted = true;
+            }
+            while (hasPendingRight && comparator.compare(pendingRightKey, currentLeftKey) < 0) {
+                advanceRight();
+            }
+            if (!hasPendingRight) {
+                // the remaining left elements have greater keys than all the right elements
+                return false;
+            }
+            if (comparator.compare(pendingRightKey, currentLeftKey) == 0) {
+                groupKey = pendingRightKey;
+                while (hasPendingRight && comparator.compare(pendingRightKey, groupKey) == 0) {
+                    group.add(pendingRight);
+                    advanceRight();
+                }
+                groupMatches = true;
+            }
+        }
+    }
+
+    private boolean advanceLeft() {
+        if (!left.tryAdvance(l -> currentLeft = l)) {
+            currentLeft = null;
+            return false;
+        }
+        K key = leftKey.apply(currentLeft);
+        if (hasLeftKey && comparator.compare(currentLeftKey, key) > 0) {
+            throw new IllegalStateException("The left spliterator is not sorted on the join key");
+        }
+        currentLeftKey = key;
+        hasLeftKey = true;
+        return true;
+    }
+
+    private void advanceRight() {
+        K previousKey = pendingRightKey;
+        boolean hadPendingRight = hasPendingRight;
+        hasPendingRight = right.tryAdvance(r -> pendingRight = r);
+        if (hasPendingRight) {
+            pendingRightKey = rightKey.apply(pendingRight);
+            if (hadPendingRight && comparator.compare(previousKey, pendingRightKey) > 0) {
+                throw new IllegalStateException("The right spliterator is not sorted on the join key");
+            }
+        } else {
+            pendingRight = null;
+        }
+    }
+
+    @Override
+    public Spliterator<Map.Entry<L, R>> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return left.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL;
+    }
+}
@@ -0,0 +1,236 @@
+package com.ip.splitors;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.ElementCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * An element buffer that keeps at most <code>threshold</code> elements on the heap. When this threshold is
+ * reached, the elements on the heap are encoded with the provided codec and appended to a temporary file. When
+ * the buffer is read, the file is memory mapped in windows of up to 2GB, and replayed from these mappings,
+ * followed by the elements still on the heap. The number of mappings does not depend on the number of spills.
+ * <p>
+ * The temporary file is deleted by {@link #close()}.
+ */
+public class SpillingElementBuffer<E> implements ElementBuffer<E> {
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final long MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+
+    private final ElementCodec<E> codec;
+    private final int threshold;
+    private final Path directory;
+    private final long windowSize;
+
+    private final List<E> heap = new ArrayList<>();
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final List<Long> windowEnds = new ArrayList<>();
+    private long windowStart;
+    private boolean openWindowMapped;
+    private long mappedWindowStart;
+    private long written;
+    private Path file;
+    private FileChannel channel;
+    private ByteBuffer writeBuffer;
+    private long spilled;
+
+    public static <E> SpillingElementBuffer<E> of(ElementCodec<E> codec, int threshold, Path directory) {
+        return of(codec, threshold, directory, MAX_WINDOW_SIZE);
+    }
+
+    /**
+     * Builds a buffer which file is mapped in windows of at most <code>windowSize</code> bytes. A window holds at
+     * least one element, so that an element larger than this size gets a window of its own.
+     */
+    public static <E> SpillingElementBuffer<E> of(ElementCodec<E> codec, int threshold, Path directory, long windowSize) {
+        Objects.requireNonNull(codec);
+        Objects.requireNonNull(directory);
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold should not be less than 1");
+        }
+        if (windowSize < 1 || windowSize > MAX_WINDOW_SIZE) {
+            throw new IllegalArgumentException("windowSize should be between 1 and " + MAX_WINDOW_SIZE);
+        }
+
+        return new SpillingElementBuffer<>(codec, threshold, directory, windowSize);
+    }
+
+    private SpillingElementBuffer(ElementCodec<E> codec, int threshold, Path directory, long windowSize) {
+        this.codec = codec;
+        this.threshold = threshold;
+        this.directory = directory;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public void add(E e) {
+        heap.add(e);
+        if (heap.size() >= threshold) {
+            spill();
+        }
+    }
+
+    private void spill() {
+        try {
+            if (channel == null) {
+                file = Files.createTempFile(directory, "element-buffer-", ".bin");
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            }
+            long position = written;
+            for (E e : heap) {
+                int size = codec.encodedSize(e);
+                long end = position + writeBuffer.position();
+                if (end + size - windowStart > windowSize && end > windowStart) {
+                    // a mapping cannot go over 2GB, so the file is cut in windows, at the bounds of the elements
+                    position += write(position);
+                    windowEnds.add(position);
+                    windowStart = position;
+                }
+                if (writeBuffer.remaining() < size) {
+                    position += write(position);
+                    if (writeBuffer.capacity() < size) {
+                        writeBuffer = ByteBuffer.allocate(size);
+                    }
+                }
+                codec.encode(e, writeBuffer);
+            }
+            position += write(position);
+            written = position;
+            spilled += heap.size();
+            heap.clear();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int write(long position) throws IOException {
+        writeBuffer.flip();
+        int written = 0;
+        while (writeBuffer.hasRemaining()) {
+            written += channel.write(writeBuffer, position + written);
+        }
+        writeBuffer.clear();
+        return written;
+    }
+
+    /**
+     * Maps the windows of the file that are not mapped yet. The last window may have grown, or been cut, since
+     * it was mapped, it is then mapped again.
+     */
+    private List<MappedByteBuffer> mapped() {
+        if (openWindowMapped && mappedWindowStart == windowStart
+                && written == windowStart + segments.get(segments.size() - 1).capacity()) {
+            return segments;
+        }
+        try {
+            if (openWindowMapped) {
+                segments.remove(segments.size() - 1);
+                openWindowMapped = false;
+            }
+            for (int window = segments.size(); window < windowEnds.size(); window++) {
+                long start = window == 0 ? 0L : windowEnds.get(window - 1);
+                segments.add(channel.map(FileChannel.MapMode.READ_ONLY, start, windowEnds.get(window) - start));
+            }
+            if (written > windowStart) {
+                segments.add(channel.map(FileChannel.MapMode.READ_ONLY, windowStart, written - windowStart));
+                openWindowMapped = true;
+                mappedWindowStart = windowStart;
+            }
+            return segments;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long size() {
+        return spilled + heap.size();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        for (MappedByteBuffer segment : mapped()) {
+            ByteBuffer reader = segment.duplicate();
+            while (reader.hasRemaining()) {
+                action.accept(codec.decode(reader));
+            }
+        }
+        heap.forEach(action);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        List<MappedByteBuffer> segments = new ArrayList<>(mapped());
+        return new Iterator<E>() {
+
+            private int segment = 0;
+            private ByteBuffer reader = segments.isEmpty() ? null : segments.get(0).duplicate();
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (reader != null && !reader.hasRemaining()) {
+                    segment++;
+                    reader = segment < segments.size() ? segments.get(segment).duplicate() : null;
+                }
+                return reader != null || index < heap.size();
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return reader != null ? codec.decode(reader) : heap.get(index++);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        segments.clear();
+        windowEnds.clear();
+        windowStart = 0L;
+        openWindowMapped = false;
+        mappedWindowStart = 0L;
+        written = 0L;
+        heap.clear();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            channel = null;
+            file = null;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A conjunction or a disjunction of predicates, called clauses, that changes the order in which it evaluates
+ * them. <code>Predicate.and()</code> and <code>Predicate.or()</code> always evaluate in the written order, so that
+ * a costly clause that rarely decides the result, written first, is evaluated for every element. </p>
+ * <p>This predicate samples some of its evaluations: a sampled evaluation evaluates and times every clause, and
+ * counts how often each one is true, so that the selectivity of a clause does not depend on the clauses placed
+ * before it. The other evaluations stop at the first clause that decides the result. Every
+ * <code>reorderInterval</code> samples, the clauses are sorted by their expected cost to decide the result: the
+ * average cost of a clause divided by the probability that it stops the short-circuit evaluation, that is that it
+ * is false for a conjunction and true for a disjunction. </p>
+ * <p>Since any clause may be evaluated first, the clauses must be total, independent of each other and free of
+ * side effects. A clause must not rely on another one as a guard: in
+ * <code>allOf(p -&gt; p != null, p -&gt; p.getName().isEmpty())</code>, the second clause may be moved first,
+ * and throw a <code>NullPointerException</code>. Such a pair should be written as a single clause. </p>
+ * <p>The statistics are kept since the creation of the predicate. It can be used from several threads. </p>
+ * <pre>{@code
+ *     AdaptivePredicate<Person> predicate = AdaptivePredicate.allOf(isValidEmail, isAdult);
+ *     persons.stream().filter(predicate::test).count();
+ *     predicate.getStatistics().forEach(System.out::println);
+ * }</pre>
+ */
+public final class AdaptivePredicate<T> implements Predicate<T> {
+
+    public static final int DEFAULT_SAMPLE_RATE = 64;
+    public static final int DEFAULT_REORDER_INTERVAL = 256;
+
+    private final boolean conjunction;
+    private final Clause<T>[] clauses;
+    private final int sampleRate;
+    private final int reorderInterval;
+    private final AtomicLong samples = new AtomicLong();
+    private volatile Clause<T>[] order;
+
+    /**
+     * <p>Builds the conjunction of the predicates, with the default sample rate and reorder interval. The
+     * predicates must be total, independent and free of side effects. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if one of the predicates is null.</p>
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> AdaptivePredicate<T> allOf(Predicate<? super T>... predicates) {
+        return AdaptivePredicate.<T>allOf(Arrays.asList(predicates), DEFAULT_SAMPLE_RATE, DEFAULT_REORDER_INTERVAL);
+    }
+
+    /**
+     * <p>Builds the conjunction of the predicates. The predicates may be evaluated in any order, so they must
+     * be total, independent and free of side effects. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if one of the predicates is null.</p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if there is no predicate, or if the sample rate or
+     * the reorder interval is lesser than 1. </p>
+     *
+     * @param predicates      the clauses, in the order in which they are evaluated first
+     * @param sampleRate      one evaluation in <code>sampleRate</code> is sampled, on average
+     * @param reorderInterval the number of samples between two reorderings
+     */
+    public static <T> AdaptivePredicate<T> allOf(List<? extends Predicate<? super T>> predicates, int sampleRate, int reorderInterval) {
+        return new AdaptivePredicate<>(true, predicates, sampleRate, reorderInterval);
+    }
+
+    /**
+     * <p>Builds the disjunction of the predicates, with the default sample rate and reorder interval. The
+     * predicates must be total, independent and free of side effects. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if one of the predicates is null.</p>
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> AdaptivePredicate<T> anyOf(Predicate<? super T>... predicates) {
+        return AdaptivePredicate.<T>anyOf(Arrays.asList(predicates), DEFAULT_SAMPLE_RATE, DEFAULT_REORDER_INTERVAL);
+    }
+
+    /**
+     * Builds the disjunction of the predicates. See <code>allOf(predicates, sampleRate, reorderInterval)</code>
+     * for the details.
+     */
+    public static <T> AdaptivePredicate<T> anyOf(List<? extends Predicate<? super T>> predicates, int sampleRate, int reorderInterval) {
+        return new AdaptivePredicate<>(false, predicates, sampleRate, reorderInterval);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private AdaptivePredicate(boolean conjunction, List<? extends Predicate<? super T>> predicates, int sampleRate, int reorderInterval) {
+        Objects.requireNonNull(predicates);
+        if (predicates.isEmpty()) {
+            throw new IllegalArgumentException("predicates should not be empty");
+        }
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate should not be less than 1");
+        }
+        if (reorderInterval < 1) {
+            throw new IllegalArgumentException("reorderInterval should not be less than 1");
+        }
+        this.conjunction = conjunction;
+        this.clauses = new Clause[predicates.size()];
+        for (int i = 0; i < clauses.length; i++) {
+            clauses[i] = new Clause<>(i, Objects.requireNonNull(predicates.get(i)));
+        }
+        this.sampleRate = sampleRate;
+        this.reorderInterval = reorderInterval;
+        this.order = clauses.clone();
+    }
+
+    @Override
+    public boolean test(T t) {
+        if (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            return sample(t);
+        }
+        for (Clause<T> clause : order) {
+            if (clause.predicate.test(t) != conjunction) {
+                return !conjunction;
+            }
+        }
+        return conjunction;
+    }
+
+    /**
+     * Evaluates and measures all the clauses: a clause placed after one that always decides the result would
+     * otherwise never be measured, and never be moved.
+     */
+    private boolean sample(T t) {
+        boolean result = conjunction;
+        for (Clause<T> clause : order) {
+            long start = System.nanoTime();
+            boolean value = clause.predicate.test(t);
+            clause.record(System.nanoTime() - start, value);
+            if (value != conjunction) {
+                result = !conjunction;
+            }
+        }
+        if (samples.incrementAndGet() % reorderInterval == 0) {
+            reorder();
+        }
+        return result;
+    }
+
+    private void reorder() {
+        // the ranks are computed once: the statistics keep changing while the clauses are sorted
+        double[] ranks = new double[clauses.length];
+        List<Clause<T>> sorted = new ArrayList<>(clauses.length);
+        for (Clause<T> clause : clauses) {
+            ranks[clause.index] = clause.rank(conjunction);
+            sorted.add(clause);
+        }
+        Collections.sort(sorted, (c1, c2) -> Double.compare(ranks[c1.index], ranks[c2.index]));
+        order = sorted.toArray(clauses.clone());
+    }
+
+    /**
+     * @return true if this predicate is a conjunction, false if it is a disjunction
+     */
+    public boolean isConjunction() {
+        return conjunction;
+    }
+
+    /**
+     * @return the indexes of the clauses, as provided, in the order in which they are evaluated
+     */
+    public int[] getOrder() {
+        return Arrays.stream(order).mapToInt(clause -> clause.index).toArray();
+    }
+
+    /**
+     * @return the statistics of the clauses, in the order in which they were provided
+     */
+    public List<Statistics> getStatistics() {
+        List<Statistics> statistics = new ArrayList<>(clauses.length);
+        for (Clause<T> clause : clauses) {
+            statistics.add(clause.statistics());
+        }
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return (conjunction ? "allOf" : "anyOf") + getStatistics();
+    }
+
+    private static final class Clause<T> {
+
+        private final int index;
+        private final Predicate<? super T> predicate;
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder trues = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private Clause(int index, Predicate<? super T> predicate) {
+            this.index = index;
+            this.predicate = predicate;
+        }
+
+        private void record(long elapsed, boolean value) {
+            evaluations.increment();
+            nanos.add(elapsed);
+            if (value) {
+                trues.increment();
+            }
+        }
+
+        /**
+         * The expected cost of this clause per short-circuit it triggers: the lower, the sooner it is evaluated.
+         */
+        private double rank(boolean conjunction) {
+            Statistics statistics = statistics();
+            double stopping = conjunction ? 1d - statistics.selectivity : statistics.selectivity;
+            // a clause that never stops the evaluation goes last
+            return stopping == 0d ? Double.POSITIVE_INFINITY : statistics.averageNanos / stopping;
+        }
+
+        private Statistics statistics() {
+            long count = evaluations.sum();
+            return new Statistics(
+                    index, count,
+                    count == 0 ? 0d : (double) trues.sum() / count,
+                    count == 0 ? 0d : (double) nanos.sum() / count);
+        }
+    }
+
+    /**
+     * The sampled statistics of a clause.
+     */
+    public static final class Statistics {
+
+        private final int index;
+        private final long evaluations;
+        private final double selectivity;
+        private final double averageNanos;
+
+        private Statistics(int index, long evaluations, double selectivity, double averageNanos) {
+            this.index = index;
+            this.evaluations = evaluations;
+            this.selectivity = selectivity;
+            this.averageNanos = averageNanos;
+        }
+
+        /**
+         * @return the index of the clause, as provided
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the number of sampled evaluations of the clause
+         */
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        /**
+         * @return the fraction of the sampled evaluations for which the clause was true
+         */
+        public double getSelectivity() {
+            return selectivity;
+        }
+
+        /**
+         * @return the average time of a sampled evaluation of the clause, in nanoseconds
+         */
+        public double getAverageNanos() {
+            return averageNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{index=" + index + ", evaluations=" + evaluations
+                    + ", selectivity=" + selectivity + ", averageNanos=" + averageNanos + "}";
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A Bloom filter backed by a compact array of bits. Its size is computed once from the expected number of
+ * insertions and the accepted false positive probability, and never grows. </p>
+ * <p>A Bloom filter never forgets an element that has been put in it, but may wrongly report that an element
+ * has been seen. Bits are set with atomic operations, so a filter can be shared by the threads of a parallel
+ * stream. The bits of one element are set under a lock chosen by its hash: two threads putting the same element
+ * at the same time cannot both be told that it is new. </p>
+ * <p><code>put(Object)</code> and <code>mightContain(Object)</code> hash the <code>String</code>s,
+ * <code>Integer</code>s and <code>Long</code>s on 64 bits, but any other object on the 32 bits of its
+ * <code>hashCode()</code>. With more than a few tens of thousands of such elements, the collisions of their hash
+ * codes add to the false positive probability: use <code>putHash(long)</code> and
+ * <code>mightContainHash(long)</code> with a 64 bits hash instead. </p>
+ */
+public final class BloomFilter {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final AtomicLongArray bits;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final long bitSize;
+    private final int numberOfHashes;
+
+    /**
+     * <p>Creates a Bloom filter sized for the provided number of insertions. </p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if the expected number of insertions is lesser than 1
+     * or if the false positive probability is not strictly between 0 and 1. </p>
+     *
+     * @param expectedInsertions      the number of distinct elements expected to be put in this filter
+     * @param falsePositiveProbability the accepted probability of wrongly reporting an element as seen, if the
+     *                                 elements are hashed on 64 bits (see the class documentation)
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions < 1L) {
+            throw new IllegalArgumentException("expectedInsertions should not be less than 1");
+        }
+        if (!(falsePositiveProbability > 0d && falsePositiveProbability < 1d)) {
+            throw new IllegalArgumentException("falsePositiveProbability should be between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2d) * Math.log(2d)));
+        long words = Math.max(1L, (optimalBits + 63L) >>> 6);
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large: " + optimalBits + " bits");
+        }
+        this.bits = new AtomicLongArray((int) words);
+        this.bitSize = words << 6;
+        this.numberOfHashes = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2d)));
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * <p>Puts an element in this filter. </p>
+     *
+     * @param o the element
+     * @return <code>true</code> if the element had certainly not been put in this filter before,
+     * <code>false</code> if it probably had
+     */
+    public boolean put(Object o) {
+        return putHash(HyperLogLog.hash64(o));
+    }
+
+    /**
+     * <p>Puts an element in this filter, given its 64 bits hash. </p>
+     *
+     * @param hash the hash of the element, well distributed over its 64 bits
+     * @return <code>true</code> if the element had certainly not been put in this filter before,
+     * <code>false</code> if it probably had
+     */
+    public boolean putHash(long hash) {
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1L;
+        boolean changed = false;
+        // the same element always takes the same lock, the other ones only share its words
+        synchronized (locks[(int) (hash ^ (hash >>> 32)) & (LOCK_STRIPES - 1)]) {
+            for (int i = 0; i < numberOfHashes; i++) {
+                long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current = bits.get(word);
+                while ((current & mask) == 0L) {
+                    if (bits.compareAndSet(word, current, current | mask)) {
+                        changed = true;
+                        break;
+                    }
+                    current = bits.get(word);
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @param o the element
+     * @return <code>false</code> if the element has certainly not been put in this filter, <code>true</code>
+     * if it probably has
+     */
+    public boolean mightContain(Object o) {
+        return mightContainHash(HyperLogLog.hash64(o));
+    }
+
+    /**
+     * @param hash the 64 bits hash of the element
+     * @return <code>false</code> if the element has certainly not been put in this filter, <code>true</code>
+     * if it probably has
+     */
+    public boolean mightContainHash(long hash) {
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1L;
+        for (int i = 0; i < numberOfHashes; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int numberOfHashes() {
+        return numberOfHashes;
+    }
+}
@@ -0,0 +1,326 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * <p>A multimap that groups values by key without a list per key nor a node per entry. </p>
+ * <p>The keys are stored in an open-addressing table, with linear probing, and are given an id in the order
+ * they are first put. The values of all the keys share one array: each key owns a chain of chunks in this
+ * array, a new chunk being as large as the values the key already has, up to 4096. The
+ * values of a key are then in a few contiguous segments, and merging a multimap copies these segments with
+ * <code>System.arraycopy</code>. </p>
+ * <p>Keys cannot be <code>null</code>, values can. The keys and the values of a key are given back in the
+ * order they have been put. This class is not thread safe. </p>
+ * <pre>{@code
+ *     CompactMultimap<String, Person> byLastName = people.stream().collect(CompactMultimap.grouping(Person::getLastName));
+ *     List<Person> sahus = byLastName.get("sahu");
+ * }</pre>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class CompactMultimap<K, V> {
+
+    private static final int FIRST_CHUNK_SIZE = 4;
+    private static final int MAX_CHUNK_SIZE = 1 << 12;
+    private static final int NO_CHUNK = -1;
+
+    // open addressing table of key ids plus one, 0 being an empty slot
+    private int[] slots = new int[16];
+
+    // indexed by key id
+    private Object[] keys = new Object[8];
+    private int[] hashes = new int[8];
+    private int[] valueCounts = new int[8];
+    private int[] headChunks = new int[8];
+    private int[] tailChunks = new int[8];
+    private int[] tailFills = new int[8];
+    private int keyCount;
+
+    // indexed by chunk id
+    private int[] chunkOffsets = new int[16];
+    private int[] chunkLengths = new int[16];
+    private int[] chunkNexts = new int[16];
+    private int chunkCount;
+
+    private Object[] values = new Object[64];
+    private int valuesSize;
+    private long size;
+
+    /**
+     * @return a collector that groups the elements of a stream by the key computed by the classifier
+     */
+    public static <T, K> Collector<T, ?, CompactMultimap<K, T>> grouping(Function<? super T, ? extends K> classifier) {
+        return grouping(classifier, Function.identity());
+    }
+
+    public static <T, K, V> Collector<T, ?, CompactMultimap<K, V>> grouping(
+            Function<? super T, ? extends K> classifier, Function<? super T, ? extends V> valueMapper) {
+        Objects.requireNonNull(classifier);
+        Objects.requireNonNull(valueMapper);
+
+        return Collector.of(
+                CompactMultimap::new,
+                (multimap, t) -> multimap.put(classifier.apply(t), valueMapper.apply(t)),
+                CompactMultimap::merge);
+    }
+
+    public void put(K key, V value) {
+        int id = idOf(key, true);
+        ensureTailCapacity(id, 1);
+        int tail = tailChunks[id];
+        values[chunkOffsets[tail] + tailFills[id]] = value;
+        tailFills[id]++;
+        valueCounts[id]++;
+        size++;
+    }
+
+    /**
+     * Adds all the values of the other multimap to this one, key by key, copying the segments of values of the
+     * other multimap in bulk. The other multimap is left unchanged.
+     *
+     * @return this multimap
+     * @throws IllegalArgumentException if the other multimap is this multimap
+     */
+    @SuppressWarnings("unchecked")
+    public CompactMultimap<K, V> merge(CompactMultimap<? extends K, ? extends V> other) {
+        Objects.requireNonNull(other);
+        if (other == this) {
+            throw new IllegalArgumentException("a multimap cannot be merged with itself");
+        }
+
+        for (int otherId = 0; otherId < other.keyCount; otherId++) {
+            int id = idOf((K) other.keys[otherId], true);
+            for (int chunk = other.headChunks[otherId]; chunk != NO_CHUNK; chunk = other.chunkNexts[chunk]) {
+                int length = chunk == other.tailChunks[otherId] ? other.tailFills[otherId] : other.chunkLengths[chunk];
+                append(id, other.values, other.chunkOffsets[chunk], length);
+            }
+            valueCounts[id] += other.valueCounts[otherId];
+        }
+        size += other.size;
+        return this;
+    }
+
+    private void append(int id, Object[] source, int offset, int length) {
+        while (length > 0) {
+            ensureTailCapacity(id, length);
+            int tail = tailChunks[id];
+            int count = Math.min(length, chunkLengths[tail] - tailFills[id]);
+            System.arraycopy(source, offset, values, chunkOffsets[tail] + tailFills[id], count);
+            tailFills[id] += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Makes sure the tail chunk of the key has some room, adding a chunk if it is full. A new chunk can hold the
+     * values that are about to be added, up to the maximum size of a chunk.
+     */
+    private void ensureTailCapacity(int id, int needed) {
+        int tail = tailChunks[id];
+        if (tail != NO_CHUNK && tailFills[id] < chunkLengths[tail]) {
+            return;
+        }
+        int length = Math.min(MAX_CHUNK_SIZE, Math.max(Math.max(FIRST_CHUNK_SIZE, valueCounts[id]), needed));
+        int chunk = newChunk(length);
+        if (tail == NO_CHUNK) {
+            headChunks[id] = chunk;
+        } else {
+            chunkNexts[tail] = chunk;
+        }
+        tailChunks[id] = chunk;
+        tailFills[id] = 0;
+    }
+
+    private int newChunk(int length) {
+        if (chunkCount == chunkOffsets.length) {
+            int capacity = chunkCount + (chunkCount >> 1);
+            chunkOffsets = Arrays.copyOf(chunkOffsets, capacity);
+            chunkLengths = Arrays.copyOf(chunkLengths, capacity);
+            chunkNexts = Arrays.copyOf(chunkNexts, capacity);
+        }
+        if (valuesSize + length > values.length) {
+            values = Arrays.copyOf(values, Math.max(valuesSize + length, values.length + (values.length >> 1)));
+        }
+        chunkOffsets[chunkCount] = valuesSize;
+        chunkLengths[chunkCount] = length;
+        chunkNexts[chunkCount] = NO_CHUNK;
+        valuesSize += length;
+        return chunkCount++;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return the id of the key, or -1 if it is not in this multimap and should not be added
+     */
+    private int idOf(Object key, boolean add) {
+        Objects.requireNonNull(key);
+        int hash = spread(key.hashCode());
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (id < 0) {
+                if (!add) {
+                    return -1;
+                }
+                id = newKey(key, hash);
+                slots[slot] = id + 1;
+                if (2 * keyCount > slots.length) {
+                    rehash();
+                }
+                return id;
+            }
+            if (hashes[id] == hash && keys[id].equals(key)) {
+                return id;
+            }
+        }
+    }
+
+    private int newKey(Object key, int hash) {
+        if (keyCount == keys.length) {
+            int capacity = keyCount + (keyCount >> 1);
+            keys = Arrays.copyOf(keys, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            valueCounts = Arrays.copyOf(valueCounts, capacity);
+            headChunks = Arrays.copyOf(headChunks, capacity);
+            tailChunks = Arrays.copyOf(tailChunks, capacity);
+            tailFills = Arrays.copyOf(tailFills, capacity);
+        }
+        keys[keyCount] = key;
+        hashes[keyCount] = hash;
+        headChunks[keyCount] = NO_CHUNK;
+        tailChunks[keyCount] = NO_CHUNK;
+        return keyCount++;
+    }
+
+    private void rehash() {
+        slots = new int[2 * slots.length];
+        int mask = slots.length - 1;
+        for (int id = 0; id < keyCount; id++) {
+            int slot = hashes[id] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    public boolean containsKey(K key) {
+        return idOf(key, false) >= 0;
+    }
+
+    public int count(K key) {
+        int id = idOf(key, false);
+        return id < 0 ? 0 : valueCounts[id];
+    }
+
+    /**
+     * @return the values of the key, in the order they have been put, in a new list
+     */
+    public List<V> get(K key) {
+        int id = idOf(key, false);
+        if (id < 0) {
+            return Collections.emptyList();
+        }
+        List<V> list = new ArrayList<>(valueCounts[id]);
+        forEachValue(id, list::add);
+        return list;
+    }
+
+    public void forEach(K key, Consumer<? super V> action) {
+        Objects.requireNonNull(action);
+        int id = idOf(key, false);
+        if (id >= 0) {
+            forEachValue(id, action);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void forEachValue(int id, Consumer<? super V> action) {
+        for (int chunk = headChunks[id]; chunk != NO_CHUNK; chunk = chunkNexts[chunk]) {
+            int end = chunkOffsets[chunk] + (chunk == tailChunks[id] ? tailFills[id] : chunkLengths[chunk]);
+            for (int index = chunkOffsets[chunk]; index < end; index++) {
+                action.accept((V) values[index]);
+            }
+        }
+    }
+
+    /**
+     * Calls the action on each key and each of its values.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        for (int id = 0; id < keyCount; id++) {
+            K key = (K) keys[id];
+            forEachValue(id, value -> action.accept(key, value));
+        }
+    }
+
+    /**
+     * @return the keys of this multimap, in the order they have been first put, as an unmodifiable list
+     */
+    public List<K> keys() {
+        return new AbstractList<K>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public K get(int index) {
+                if (index < 0 || index >= keyCount) {
+                    throw new IndexOutOfBoundsException("index: " + index + ", size: " + keyCount);
+                }
+                return (K) keys[index];
+            }
+
+            @Override
+            public int size() {
+                return keyCount;
+            }
+        };
+    }
+
+    public int keyCount() {
+        return keyCount;
+    }
+
+    /**
+     * @return the number of values of this multimap
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return a copy of this multimap as a map of lists, for the code that expects one
+     */
+    public Map<K, List<V>> toMap() {
+        Map<K, List<V>> map = new LinkedHashMap<>();
+        for (K key : keys()) {
+            map.put(key, get(key));
+        }
+        return map;
+    }
+}
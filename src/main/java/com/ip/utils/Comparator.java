@@ -4,6 +4,9 @@ package com.ip.utils;
 
 
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  *
@@ -13,19 +16,73 @@ import java.util.function.Function;
 public interface Comparator<T> {
 
     public int compare(T t1, T t2);
-    
+
+    /**
+     * Compares with the provided comparator the elements that this comparator finds equal. This comparator is
+     * called once per comparison.
+     */
     public default Comparator<T> thenComparing(Comparator<T> cmp) {
-        
-        return (p1, p2) -> compare(p1, p2) == 0 ? cmp.compare(p1, p2) : compare(p1, p2) ;
+
+        return (p1, p2) -> {
+            int result = compare(p1, p2);
+            return result != 0 ? result : cmp.compare(p1, p2);
+        };
     }
-    
-    public default Comparator<T> thenComparing(Function<T, Comparable> f) {
-        
+
+    public default <K extends Comparable<? super K>> Comparator<T> thenComparing(Function<? super T, ? extends K> f) {
+
         return thenComparing(comparing(f)) ;
     }
-    
-    public static <U> Comparator<U> comparing(Function<U, Comparable> f) {
-        
+
+    public default Comparator<T> thenComparingInt(ToIntFunction<? super T> f) {
+
+        return thenComparing(comparingInt(f));
+    }
+
+    public default Comparator<T> thenComparingLong(ToLongFunction<? super T> f) {
+
+        return thenComparing(comparingLong(f));
+    }
+
+    public default Comparator<T> thenComparingDouble(ToDoubleFunction<? super T> f) {
+
+        return thenComparing(comparingDouble(f));
+    }
+
+    public default Comparator<T> reversed() {
+
+        return (p1, p2) -> compare(p2, p1);
+    }
+
+    /**
+     * @return this comparator as a <code>java.util.Comparator</code>, to sort with the JDK methods
+     */
+    public default java.util.Comparator<T> toComparator() {
+
+        return this::compare;
+    }
+
+    public static <U, K extends Comparable<? super K>> Comparator<U> comparing(Function<? super U, ? extends K> f) {
+
         return (p1, p2) ->  f.apply(p1).compareTo(f.apply(p2));
     }
+
+    /**
+     * Compares the <code>int</code> keys without boxing them. <code>Sorting.sort()</code> sorts with this
+     * comparator, or its reversed one, by a radix sort on the keys.
+     */
+    public static <U> Comparator<U> comparingInt(ToIntFunction<? super U> f) {
+
+        return new IntKeyComparator<>(f);
+    }
+
+    public static <U> Comparator<U> comparingLong(ToLongFunction<? super U> f) {
+
+        return new LongKeyComparator<>(f);
+    }
+
+    public static <U> Comparator<U> comparingDouble(ToDoubleFunction<? super U> f) {
+
+        return (p1, p2) -> Double.compare(f.applyAsDouble(p1), f.applyAsDouble(p2));
+    }
 }
@@ -0,0 +1,203 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>A comparator on a chain of keys, compared one after the other until two keys differ. </p>
+ * <p>A chain built with <code>thenComparing()</code> is a comparator that calls a comparator that calls a
+ * comparator, one level per key. This class flattens the chain in one object: the keys are held in an array, and
+ * compared in a single loop. The <code>int</code>, <code>long</code> and <code>double</code> keys are compared
+ * without being boxed. </p>
+ * <pre>{@code
+ *     Comparator<Person> comparator = ComparatorChain.<Person>builder()
+ *             .thenComparing(Person::getLastName)
+ *             .thenComparing(Person::getFirstName)
+ *             .thenComparingInt(Person::getAge).descending()
+ *             .build();
+ * }</pre>
+ */
+public final class ComparatorChain<T> implements Comparator<T> {
+
+    private final Key<T>[] keys;
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ComparatorChain(List<Key<T>> keys) {
+        this.keys = keys.toArray(new Key[keys.size()]);
+    }
+
+    @Override
+    public int compare(T t1, T t2) {
+        for (Key<T> key : keys) {
+            int result = key.compare(t1, t2);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * One key of the chain. The primitive keys give back -1, 0 or 1, so that a descending key can negate it.
+     */
+    private abstract static class Key<T> {
+
+        abstract int compare(T t1, T t2);
+
+        abstract Key<T> reversed();
+    }
+
+    private static final class ObjectKey<T, K> extends Key<T> {
+
+        private final Function<? super T, ? extends K> key;
+        private final java.util.Comparator<? super K> comparator;
+
+        private ObjectKey(Function<? super T, ? extends K> key, java.util.Comparator<? super K> comparator) {
+            this.key = key;
+            this.comparator = comparator;
+        }
+
+        @Override
+        int compare(T t1, T t2) {
+            return comparator.compare(key.apply(t1), key.apply(t2));
+        }
+
+        @Override
+        Key<T> reversed() {
+            return new ObjectKey<T, K>(key, comparator.reversed());
+        }
+    }
+
+    private static final class IntKey<T> extends Key<T> {
+
+        private final ToIntFunction<? super T> key;
+        private final int sign;
+
+        private IntKey(ToIntFunction<? super T> key, int sign) {
+            this.key = key;
+            this.sign = sign;
+        }
+
+        @Override
+        int compare(T t1, T t2) {
+            return sign * Integer.compare(key.applyAsInt(t1), key.applyAsInt(t2));
+        }
+
+        @Override
+        Key<T> reversed() {
+            return new IntKey<>(key, -sign);
+        }
+    }
+
+    private static final class LongKey<T> extends Key<T> {
+
+        private final ToLongFunction<? super T> key;
+        private final int sign;
+
+        private LongKey(ToLongFunction<? super T> key, int sign) {
+            this.key = key;
+            this.sign = sign;
+        }
+
+        @Override
+        int compare(T t1, T t2) {
+            return sign * Long.compare(key.applyAsLong(t1), key.applyAsLong(t2));
+        }
+
+        @Override
+        Key<T> reversed() {
+            return new LongKey<>(key, -sign);
+        }
+    }
+
+    private static final class DoubleKey<T> extends Key<T> {
+
+        private final ToDoubleFunction<? super T> key;
+        private final int sign;
+
+        private DoubleKey(ToDoubleFunction<? super T> key, int sign) {
+            this.key = key;
+            this.sign = sign;
+        }
+
+        @Override
+        int compare(T t1, T t2) {
+            return sign * Double.compare(key.applyAsDouble(t1), key.applyAsDouble(t2));
+        }
+
+        @Override
+        Key<T> reversed() {
+            return new DoubleKey<>(key, -sign);
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final List<Key<T>> keys = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public <K extends Comparable<? super K>> Builder<T> thenComparing(Function<? super T, ? extends K> key) {
+            return thenComparing(key, java.util.Comparator.<K>naturalOrder());
+        }
+
+        public <K> Builder<T> thenComparing(Function<? super T, ? extends K> key, java.util.Comparator<? super K> comparator) {
+            Objects.requireNonNull(key);
+            Objects.requireNonNull(comparator);
+            keys.add(new ObjectKey<>(key, comparator));
+            return this;
+        }
+
+        public Builder<T> thenComparingInt(ToIntFunction<? super T> key) {
+            keys.add(new IntKey<>(Objects.requireNonNull(key), 1));
+            return this;
+        }
+
+        public Builder<T> thenComparingLong(ToLongFunction<? super T> key) {
+            keys.add(new LongKey<>(Objects.requireNonNull(key), 1));
+            return this;
+        }
+
+        public Builder<T> thenComparingDouble(ToDoubleFunction<? super T> key) {
+            keys.add(new DoubleKey<>(Objects.requireNonNull(key), 1));
+            return this;
+        }
+
+        /**
+         * Reverses the order of the last key added.
+         *
+         * @throws IllegalStateException if no key has been added
+         */
+        public Builder<T> descending() {
+            if (keys.isEmpty()) {
+                throw new IllegalStateException("no key to sort in descending order");
+            }
+            int last = keys.size() - 1;
+            keys.set(last, keys.get(last).reversed());
+            return this;
+        }
+
+        public ComparatorChain<T> build() {
+            return new ComparatorChain<>(keys);
+        }
+    }
+}
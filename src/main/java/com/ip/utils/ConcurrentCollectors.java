@@ -0,0 +1,165 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * <p>Concurrent collectors, that let all the threads of a parallel stream accumulate in the same container. </p>
+ * <p><code>Collectors.groupingByConcurrent()</code> appends the values of a key to a single list, the threads
+ * appending to the same key waiting for each other on this list. The collectors of this class give each key
+ * several append buffers, called stripes, and a thread appends to the stripe chosen by its index. The threads
+ * get their indexes in a round-robin way the first time they append, so that the threads of a pool fall on
+ * different stripes. Two threads only wait for each other when their indexes fall on the same stripe of the same
+ * key, so that even a small number of keys can be grouped by all the cores. The stripes of a key are concatenated
+ * once, when the collector finishes. </p>
+ * <p>Each key holds an array of one reference per stripe, the lists being created when a thread first appends
+ * to them. This array costs about <code>16 + 4 * stripes</code> bytes per key, and should be kept in mind when
+ * grouping in many small groups: a collector with few keys gains the most from the stripes. </p>
+ */
+public final class ConcurrentCollectors {
+
+    private static final AtomicInteger NEXT_THREAD_INDEX = new AtomicInteger();
+    private static final ThreadLocal<Integer> THREAD_INDEX =
+            ThreadLocal.withInitial(NEXT_THREAD_INDEX::getAndIncrement);
+
+    private ConcurrentCollectors() {
+    }
+
+    /**
+     * <p>Groups the elements of a stream by the key computed by the classifier, with as many stripes per key as
+     * there are available processors, rounded up to a power of two. This method calls
+     * <code>groupingByStriped(classifier, stripes)</code>, please refer to this javadoc for details. </p>
+     *
+     * @param classifier the function that computes the key of an element
+     * @param <T>        the type of the elements
+     * @param <K>        the type of the keys
+     * @return a concurrent grouping collector
+     */
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> groupingByStriped(Function<? super T, ? extends K> classifier) {
+        return groupingByStriped(classifier, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * <p>Groups the elements of a stream by the key computed by the classifier. The returned collector is
+     * <code>CONCURRENT</code> and <code>UNORDERED</code>: the order of the values of a key is not the order of
+     * the stream. </p>
+     * <p>Every key costs an array of <code>stripes</code> references, whether the threads append to it or not. A
+     * stream with many keys, each of them holding a few values, should use few stripes, or
+     * <code>Collectors.groupingByConcurrent()</code>. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the classifier is null, or returns null.</p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if the number of stripes is lesser than 1. </p>
+     *
+     * @param classifier the function that computes the key of an element
+     * @param stripes    the number of stripes per key, rounded up to a power of two
+     * @param <T>        the type of the elements
+     * @param <K>        the type of the keys
+     * @return a concurrent grouping collector
+     */
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> groupingByStriped(
+            Function<? super T, ? extends K> classifier, int stripes) {
+        Objects.requireNonNull(classifier);
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes should not be less than 1");
+        }
+        int stripeCount = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+
+        return Collector.of(
+                () -> new StripedGroups<K, T>(stripeCount),
+                (groups, t) -> groups.add(classifier.apply(t), t),
+                StripedGroups::merge,
+                StripedGroups::toMap,
+                Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+    }
+
+    private static final class StripedGroups<K, V> {
+
+        private final int stripeCount;
+        private final ConcurrentHashMap<K, AtomicReferenceArray<List<V>>> groups = new ConcurrentHashMap<>();
+
+        private StripedGroups(int stripeCount) {
+            this.stripeCount = stripeCount;
+        }
+
+        private static int stripe(int stripeCount) {
+            // thread ids are not consecutive within a pool, and could share a stripe
+            return THREAD_INDEX.get() & (stripeCount - 1);
+        }
+
+        private void add(K key, V value) {
+            Objects.requireNonNull(key);
+            AtomicReferenceArray<List<V>> stripes = groups.get(key);
+            if (stripes == null) {
+                stripes = groups.computeIfAbsent(key, k -> new AtomicReferenceArray<>(stripeCount));
+            }
+            int stripe = stripe(stripeCount);
+            List<V> list = stripes.get(stripe);
+            if (list == null) {
+                stripes.compareAndSet(stripe, null, new ArrayList<>());
+                list = stripes.get(stripe);
+            }
+            synchronized (list) {
+                list.add(value);
+            }
+        }
+
+        private StripedGroups<K, V> merge(StripedGroups<K, V> other) {
+            other.groups.forEach((key, stripes) -> {
+                for (int stripe = 0; stripe < stripes.length(); stripe++) {
+                    List<V> list = stripes.get(stripe);
+                    if (list != null) {
+                        list.forEach(value -> add(key, value));
+                    }
+                }
+            });
+            return this;
+        }
+
+        private Map<K, List<V>> toMap() {
+            Map<K, List<V>> map = new HashMap<>(2 * groups.size());
+            groups.forEach((key, stripes) -> {
+                int size = 0;
+                int used = 0;
+                List<V> last = null;
+                for (int stripe = 0; stripe < stripes.length(); stripe++) {
+                    List<V> list = stripes.get(stripe);
+                    if (list != null) {
+                        size += list.size();
+                        used++;
+                        last = list;
+                    }
+                }
+                if (used == 1) {
+                    // a key appended to by a single thread keeps its list
+                    map.put(key, last);
+                    return;
+                }
+                List<V> values = new ArrayList<>(size);
+                for (int stripe = 0; stripe < stripes.length(); stripe++) {
+                    List<V> list = stripes.get(stripe);
+                    if (list != null) {
+                        values.addAll(list);
+                    }
+                }
+                map.put(key, values);
+            });
+            return map;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.splitors.MappedLinesSpliterator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A reader of UTF-8 CSV files with a header line, that works on a memory mapping of the file. The records are
+ * streamed by a {@link MappedLinesSpliterator}, so the returned streams split well in parallel.
+ * <p>
+ * A record does not decode its line: it only locates the fields that are read, and parses numbers straight from
+ * the mapped bytes. Only the fields read with {@link Record#getString(int)} are decoded to strings, so the
+ * columns that are not needed cost no more than looking for the next separator.
+ * <p>
+ * Fields may be enclosed in double quotes, a double quote being escaped by another one. A quoted field cannot
+ * hold a line break. Blank lines are skipped.
+ */
+public final class CsvReader {
+
+    private static final byte QUOTE = '"';
+    private static final byte SPACE = ' ';
+    private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final MappedFile file;
+    private final byte separator;
+    private final List<String> header;
+    private final long dataStart;
+
+    public static CsvReader open(Path path) throws IOException {
+        return open(path, ',');
+    }
+
+    /**
+     * @throws IllegalArgumentException if the separator is not an ASCII character, or is a double quote
+     */
+    public static CsvReader open(Path path, char separator) throws IOException {
+        Objects.requireNonNull(path);
+        if (separator >= 0x80 || separator == QUOTE || separator == '\n' || separator == '\r') {
+            throw new IllegalArgumentException("separator should be an ASCII character other than a quote or a line break");
+        }
+
+        return new CsvReader(MappedFile.map(path), (byte) separator);
+    }
+
+    private CsvReader(MappedFile file, byte separator) {
+        this.file = file;
+        this.separator = separator;
+
+        long headerStart = startsWithByteOrderMark(file) ? BYTE_ORDER_MARK.length : 0L;
+        long lineFeed = file.indexOf((byte) '\n', headerStart, file.size());
+        long headerEnd = lineFeed < 0L ? file.size() : lineFeed;
+        if (headerEnd > headerStart && file.byteAt(headerEnd - 1L) == '\r') {
+            headerEnd--;
+        }
+        List<String> header = new ArrayList<>();
+        if (headerEnd > headerStart) {
+            Record record = new Record(headerStart, headerEnd, 0);
+            for (int column = 0; column < record.fieldCount(); column++) {
+                header.add(record.getString(column).trim());
+            }
+        }
+        this.header = Collections.unmodifiableList(header);
+        this.dataStart = lineFeed < 0L ? file.size() : lineFeed + 1L;
+    }
+
+    private static boolean startsWithByteOrderMark(MappedFile file) {
+        if (file.size() < BYTE_ORDER_MARK.length) {
+            return false;
+        }
+        for (int i = 0; i < BYTE_ORDER_MARK.length; i++) {
+            if (file.byteAt(i) != BYTE_ORDER_MARK[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<String> getHeader() {
+        return header;
+    }
+
+    /**
+     * @return the index of the column of the header with the provided name, ignoring case
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public int column(String name) {
+        Objects.requireNonNull(name);
+        for (int column = 0; column < header.size(); column++) {
+            if (header.get(column).equalsIgnoreCase(name)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("no column " + name + " in " + header);
+    }
+
+    /**
+     * @return the records that follow the header line, in the order of the file
+     */
+    public Stream<Record> records() {
+        int columns = header.size();
+        MappedLinesSpliterator<Record> spliterator = MappedLinesSpliterator.of(
+                file, dataStart, (f, start, end) -> new Record(start, end, columns));
+
+        return StreamSupport.stream(spliterator, false).filter(record -> !record.isBlank());
+    }
+
+    /**
+     * @return the values of the provided column, parsed as ints without going through strings
+     */
+    public IntStream ints(int column) {
+        if (column < 0) {
+            throw new IllegalArgumentException("column should not be less than 0");
+        }
+
+        return records().mapToInt(record -> record.getInt(column));
+    }
+
+    /**
+     * A line of the file, which fields are located on demand. A record is meant to be read by the thread that
+     * got it from the stream, and should not be kept once read.
+     */
+    public final class Record {
+
+        private final long start;
+        private final long end;
+
+        private long[] bounds;
+        private int located;
+        private long next;
+
+        private Record(long start, long end, int expectedFields) {
+            this.start = start;
+            this.end = end;
+            this.bounds = new long[2 * Math.max(expectedFields, 1)];
+            this.next = start;
+        }
+
+        private boolean isBlank() {
+            for (long position = start; position < end; position++) {
+                if (file.byteAt(position) != SPACE) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public int fieldCount() {
+            locate(Integer.MAX_VALUE);
+            return located;
+        }
+
+        /**
+         * Locates the fields up to the provided column, or up to the end of the line.
+         */
+        private void locate(int column) {
+            while (located <= column && next >= 0L) {
+                long fieldStart = next;
+                long fieldEnd;
+                if (fieldStart < end && file.byteAt(fieldStart) == QUOTE) {
+                    fieldStart++;
+                    long position = fieldStart;
+                    while (position < end
+                            && (file.byteAt(position) != QUOTE || (position + 1L < end && file.byteAt(position + 1L) == QUOTE))) {
+                        position += file.byteAt(position) == QUOTE ? 2L : 1L;
+                    }
+                    fieldEnd = position;
+                    long separatorPosition = file.indexOf(separator, Math.min(position + 1L, end), end);
+                    next = separatorPosition < 0L ? -1L : separatorPosition + 1L;
+                } else {
+                    long separatorPosition = file.indexOf(separator, fieldStart, end);
+                    fieldEnd = separatorPosition < 0L ? end : separatorPosition;
+                    next = separatorPosition < 0L ? -1L : separatorPosition + 1L;
+                }
+                if (2 * located == bounds.length) {
+                    bounds = Arrays.copyOf(bounds, 2 * bounds.length);
+                }
+                bounds[2 * located] = fieldStart;
+                bounds[2 * located + 1] = fieldEnd;
+                located++;
+            }
+        }
+
+        private void check(int column) {
+            if (column < 0) {
+                throw new IndexOutOfBoundsException("column should not be less than 0");
+            }
+            locate(column);
+            if (column >= located) {
+                throw new IndexOutOfBoundsException("no column " + column + " in a line of " + located + " fields");
+            }
+        }
+
+        private boolean isQuoted(long fieldStart) {
+            return fieldStart > start && file.byteAt(fieldStart - 1L) == QUOTE;
+        }
+
+        public String getString(int column) {
+            check(column);
+            long fieldStart = bounds[2 * column];
+            byte[] bytes = new byte[(int) (bounds[2 * column + 1] - fieldStart)];
+            file.get(fieldStart, bytes, 0, bytes.length);
+            String field = new String(bytes, StandardCharsets.UTF_8);
+            return isQuoted(fieldStart) ? field.replace("\"\"", "\"") : field;
+        }
+
+        /**
+         * Parses the field as an int, surrounding spaces being ignored.
+         *
+         * @throws NumberFormatException if the field is not an int
+         */
+        public int getInt(int column) {
+            check(column);
+            long position = bounds[2 * column];
+            long fieldEnd = bounds[2 * column + 1];
+            while (position < fieldEnd && file.byteAt(position) == SPACE) {
+                position++;
+            }
+            while (fieldEnd > position && file.byteAt(fieldEnd - 1L) == SPACE) {
+                fieldEnd--;
+            }
+            boolean negative = position < fieldEnd && file.byteAt(position) == '-';
+            if (position < fieldEnd && (negative || file.byteAt(position) == '+')) {
+                position++;
+            }
+            if (position == fieldEnd) {
+                throw notAnInt(column);
+            }
+            long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+            long value = 0L;
+            for (; position < fieldEnd; position++) {
+                int digit = file.byteAt(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw notAnInt(column);
+                }
+                value = 10L * value + digit;
+                if (value > limit) {
+                    throw notAnInt(column);
+                }
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        private NumberFormatException notAnInt(int column) {
+            return new NumberFormatException("For input string: \"" + getString(column) + "\" in column " + column);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>A compact binary encoding of the elements of a stream, used to move them out of the heap: spilled to a
+ * file or stored in direct buffers. </p>
+ * <p>An element is written at the position of a buffer that has at least {@link #encodedSize(Object)} bytes
+ * remaining, and read back from the same position. Both methods advance the position of the buffer past the
+ * encoded element. </p>
+ *
+ * @param <E> the type of the encoded elements
+ */
+public interface ElementCodec<E> {
+
+    /**
+     * @param e the element to encode
+     * @return the exact number of bytes written by {@link #encode(Object, ByteBuffer)} for this element
+     */
+    public int encodedSize(E e);
+
+    public void encode(E e, ByteBuffer buffer);
+
+    public E decode(ByteBuffer buffer);
+
+    public static ElementCodec<Integer> ofIntegers() {
+        return new ElementCodec<Integer>() {
+            @Override
+            public int encodedSize(Integer i) {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void encode(Integer i, ByteBuffer buffer) {
+                buffer.putInt(i);
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+    }
+
+    public static ElementCodec<Long> ofLongs() {
+        return new ElementCodec<Long>() {
+            @Override
+            public int encodedSize(Long l) {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void encode(Long l, ByteBuffer buffer) {
+                buffer.putLong(l);
+            }
+
+            @Override
+            public Long decode(ByteBuffer buffer) {
+                return buffer.getLong();
+            }
+        };
+    }
+
+    /**
+     * Strings are written as their number of UTF-8 bytes followed by these bytes.
+     */
+    public static ElementCodec<String> ofStrings() {
+        return new ElementCodec<String>() {
+            @Override
+            public int encodedSize(String s) {
+                return Integer.BYTES + utf8Length(s);
+            }
+
+            @Override
+            public void encode(String s, ByteBuffer buffer) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                buffer.putInt(bytes.length);
+                buffer.put(bytes);
+            }
+
+            @Override
+            public String decode(ByteBuffer buffer) {
+                int length = buffer.getInt();
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Computes the number of bytes of the UTF-8 encoding of a string without encoding it. Unpaired surrogates
+     * count for one byte, as they are replaced by <code>'?'</code> by the encoder.
+     */
+    public static int utf8Length(CharSequence s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
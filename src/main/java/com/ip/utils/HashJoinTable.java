@@ -0,0 +1,129 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The build side of a hash join. Keys are stored in an open-addressing table with linear probing, and the rows
+ * of each key are chained through an <code>int[]</code> in the order they have been added, so the table
+ * allocates no node per row. Once built, the table is only read, and can be probed by several threads.
+ */
+final class HashJoinTable<K, B> {
+
+    private static final int NO_ROW = -1;
+
+    private final Function<? super B, ? extends K> key;
+    private final boolean keysOnly;
+
+    private Object[] keys = new Object[16];
+    private int[] heads = new int[16];
+    private int[] tails = new int[16];
+    private int keyCount;
+
+    private Object[] rows = new Object[16];
+    private int[] next = new int[16];
+    private int rowCount;
+
+    /**
+     * @param keysOnly if <code>true</code>, only the first row of each key is kept, for the joins that only test
+     *                 the presence of a key
+     */
+    HashJoinTable(Function<? super B, ? extends K> key, boolean keysOnly) {
+        this.key = key;
+        this.keysOnly = keysOnly;
+    }
+
+    /**
+     * Rows with a <code>null</code> key are not added, since they never match.
+     */
+    void add(B row) {
+        K k = key.apply(row);
+        if (k == null || (keysOnly && contains(k))) {
+            return;
+        }
+        if (rowCount == rows.length) {
+            rows = Arrays.copyOf(rows, rowCount * 2);
+            next = Arrays.copyOf(next, rowCount * 2);
+        }
+        rows[rowCount] = row;
+        next[rowCount] = NO_ROW;
+
+        int slot = slot(k);
+        if (keys[slot] == null) {
+            keys[slot] = k;
+            heads[slot] = rowCount;
+            tails[slot] = rowCount;
+            keyCount++;
+        } else {
+            next[tails[slot]] = rowCount;
+            tails[slot] = rowCount;
+        }
+        rowCount++;
+
+        if (2 * keyCount > keys.length) {
+            resize();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEachMatch(Object k, Consumer<? super B> action) {
+        if (k == null) {
+            return;
+        }
+        int slot = slot(k);
+        if (keys[slot] == null) {
+            return;
+        }
+        for (int row = heads[slot]; row != NO_ROW; row = next[row]) {
+            action.accept((B) rows[row]);
+        }
+    }
+
+    boolean contains(Object k) {
+        return k != null && keys[slot(k)] != null;
+    }
+
+    /**
+     * @return the slot of the key, or the empty slot where it should be inserted
+     */
+    private int slot(Object k) {
+        int mask = keys.length - 1;
+        int slot = spread(k.hashCode()) & mask;
+        while (keys[slot] != null && !keys[slot].equals(k)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        int[] oldHeads = heads;
+        int[] oldTails = tails;
+        keys = new Object[oldKeys.length * 2];
+        heads = new int[oldKeys.length * 2];
+        tails = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                heads[slot] = oldHeads[i];
+                tails[slot] = oldTails[i];
+            }
+        }
+    }
+
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
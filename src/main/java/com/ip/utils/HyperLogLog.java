@@ -0,0 +1,255 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * <p>A HyperLogLog sketch, used to estimate the number of distinct elements of a stream in a fixed amount of
+ * memory. </p>
+ * <p>The sketch holds <code>2<sup>precision</sup></code> one-byte registers, so a precision of 14 uses 16kB
+ * whatever the number of elements, with a relative standard error of about 0.8%. Two sketches of the same
+ * precision can be merged, which makes this class usable as the container of a parallel collector. </p>
+ * <pre>{@code
+ *     long distinctLastNames = persons.parallelStream()
+ *                                     .map(Person::getLastName)
+ *                                     .collect(HyperLogLog.countingDistinct(14));
+ *     long distinctAges = HyperLogLog.countDistinct(persons.stream().mapToInt(Person::getAge), 14);
+ * }</pre>
+ * <p>Elements are hashed on 64 bits. Int and long values are hashed directly, character sequences are hashed
+ * char by char, and any other object is hashed from its <code>hashCode()</code>, so its distinct count is
+ * bounded by the quality of this method. </p>
+ */
+public final class HyperLogLog {
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * <p>Creates an empty sketch. </p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if the precision is not between
+     * {@link #MIN_PRECISION} and {@link #MAX_PRECISION}. </p>
+     *
+     * @param precision the number of bits of the hash used to select a register
+     */
+    public HyperLogLog(int precision) {
+        checkPrecision(precision);
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * <p>Returns a collector that estimates the number of distinct elements of a stream. The collector is
+     * <code>UNORDERED</code> and merges the partial sketches built for parallel streams. </p>
+     *
+     * @param precision the precision of the sketch
+     * @param <T>       the type of the collected elements
+     * @return the estimated number of distinct elements
+     */
+    public static <T> Collector<T, HyperLogLog, Long> countingDistinct(int precision) {
+        checkPrecision(precision);
+        return Collector.of(
+                () -> new HyperLogLog(precision),
+                HyperLogLog::add,
+                HyperLogLog::merge,
+                HyperLogLog::estimate,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * <p>Returns a collector that estimates the number of distinct keys extracted from the elements of a
+     * stream. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the key extractor is null. </p>
+     *
+     * @param key       the function used to extract the counted key
+     * @param precision the precision of the sketch
+     * @param <T>       the type of the collected elements
+     * @return the estimated number of distinct keys
+     */
+    public static <T> Collector<T, HyperLogLog, Long> countingDistinct(Function<? super T, ?> key, int precision) {
+        Objects.requireNonNull(key);
+        checkPrecision(precision);
+        return Collector.of(
+                () -> new HyperLogLog(precision),
+                (hll, t) -> hll.add(key.apply(t)),
+                HyperLogLog::merge,
+                HyperLogLog::estimate,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * <p>Estimates the number of distinct values of an <code>IntStream</code> without boxing them. </p>
+     *
+     * @param stream    the processed stream
+     * @param precision the precision of the sketch
+     * @return the estimated number of distinct values
+     */
+    public static long countDistinct(IntStream stream, int precision) {
+        Objects.requireNonNull(stream);
+        checkPrecision(precision);
+        return stream.collect(() -> new HyperLogLog(precision), HyperLogLog::addInt, HyperLogLog::merge).estimate();
+    }
+
+    /**
+     * <p>Estimates the number of distinct values of a <code>LongStream</code> without boxing them. </p>
+     *
+     * @param stream    the processed stream
+     * @param precision the precision of the sketch
+     * @return the estimated number of distinct values
+     */
+    public static long countDistinct(LongStream stream, int precision) {
+        Objects.requireNonNull(stream);
+        checkPrecision(precision);
+        return stream.collect(() -> new HyperLogLog(precision), HyperLogLog::addLong, HyperLogLog::merge).estimate();
+    }
+
+    public void addInt(int value) {
+        addHash(mix64(value));
+    }
+
+    public void addLong(long value) {
+        addHash(mix64(value));
+    }
+
+    /**
+     * <p>Adds an object to this sketch. <code>null</code> is counted as a distinct value. </p>
+     *
+     * @param o the added object
+     */
+    public void add(Object o) {
+        addHash(hash64(o));
+    }
+
+    /**
+     * <p>Adds an already computed 64 bits hash to this sketch. The hash should be well distributed over its
+     * 64 bits. </p>
+     *
+     * @param hash the hash of the added value
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // the sentinel bit caps the rank at 64 - precision + 1
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * <p>Merges the provided sketch into this one, and returns this sketch. Both sketches must have the same
+     * precision, or an <code>IllegalArgumentException</code> is thrown. </p>
+     *
+     * @param other the merged sketch
+     * @return this sketch
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException(
+                    "Cannot merge sketches of precision " + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return the estimated number of distinct values added to this sketch
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0d;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Double.longBitsToDouble((1023L - register) << 52); // 2^-register
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5d * m && zeros > 0) {
+            // linear counting is more accurate for small cardinalities
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * @return the relative standard error of the estimates of this sketch
+     */
+    public double relativeStandardError() {
+        return 1.04d / Math.sqrt(registers.length);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673d;
+            case 32:
+                return 0.697d;
+            case 64:
+                return 0.709d;
+            default:
+                return 0.7213d / (1d + 1.079d / m);
+        }
+    }
+
+    private static void checkPrecision(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(
+                    "precision should be between " + MIN_PRECISION + " and " + MAX_PRECISION + ", got " + precision);
+        }
+    }
+
+    /**
+     * Hashes an object on 64 bits, consistently with {@link #addInt(int)} and {@link #addLong(long)}.
+     */
+    static long hash64(Object o) {
+        if (o instanceof Integer) {
+            return mix64((Integer) o);
+        } else if (o instanceof Long) {
+            return mix64((Long) o);
+        } else if (o instanceof CharSequence) {
+            return hash((CharSequence) o);
+        } else {
+            return mix64(Objects.hashCode(o));
+        }
+    }
+
+    private static long hash(CharSequence chars) {
+        long h = 0x9E3779B97F4A7C15L ^ chars.length();
+        for (int i = 0; i < chars.length(); i++) {
+            h = (h ^ chars.charAt(i)) * 0x100000001B3L;
+        }
+        return mix64(h);
+    }
+
+    /**
+     * The finalizer of MurmurHash3, spreads every input bit over the 64 bits of the result.
+     */
+    static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB93FE53B2CE9L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.function.ToIntFunction;
+
+/**
+ * The comparator returned by <code>Comparator.comparingInt()</code>. It keeps its key, so that
+ * <code>Sorting.sort()</code> can sort on this key with a radix sort.
+ */
+final class IntKeyComparator<T> implements Comparator<T> {
+
+    final ToIntFunction<? super T> key;
+
+    IntKeyComparator(ToIntFunction<? super T> key) {
+        this.key = key;
+    }
+
+    @Override
+    public int compare(T t1, T t2) {
+        return Integer.compare(key.applyAsInt(t1), key.applyAsInt(t2));
+    }
+
+    /**
+     * The complement of a key reverses its order.
+     */
+    @Override
+    public Comparator<T> reversed() {
+        return new IntKeyComparator<T>(t -> ~key.applyAsInt(t));
+    }
+}
@@ -0,0 +1,38 @@
+package com.ip.utils;
+
+/**
+ * The <code>int</code> counterpart of <code>Predicate</code>, that tests the values without boxing them.
+ */
+@FunctionalInterface
+public interface IntPredicate {
+
+    public boolean test(int i);
+
+    public default IntPredicate and(IntPredicate other) {
+        return i -> test(i) && other.test(i);
+    }
+
+    public default IntPredicate or(IntPredicate other) {
+        return i -> test(i) || other.test(i);
+    }
+
+    public default IntPredicate negate() {
+        return i -> !test(i);
+    }
+
+    public static IntPredicate isEqualsTo(int value) {
+        return i -> i == value;
+    }
+
+    public static IntPredicate isEven() {
+        return i -> (i & 1) == 0;
+    }
+
+    /**
+     * Tests if a value is one of the provided values. Values that fall in a dense range are looked up in a bit
+     * set, the others in an open addressing hash set. The provided array is copied.
+     */
+    public static IntPredicate isIn(int... values) {
+        return PrimitiveSets.of(values);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.function.ToLongFunction;
+
+/**
+ * The comparator returned by <code>Comparator.comparingLong()</code>. It keeps its key, so that
+ * <code>Sorting.sort()</code> can sort on this key with a radix sort.
+ */
+final class LongKeyComparator<T> implements Comparator<T> {
+
+    final ToLongFunction<? super T> key;
+
+    LongKeyComparator(ToLongFunction<? super T> key) {
+        this.key = key;
+    }
+
+    @Override
+    public int compare(T t1, T t2) {
+        return Long.compare(key.applyAsLong(t1), key.applyAsLong(t2));
+    }
+
+    /**
+     * The complement of a key reverses its order.
+     */
+    @Override
+    public Comparator<T> reversed() {
+        return new LongKeyComparator<T>(t -> ~key.applyAsLong(t));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ip.utils;
+
+/**
+ * The <code>long</code> counterpart of <code>Predicate</code>, that tests the values without boxing them.
+ */
+@FunctionalInterface
+public interface LongPredicate {
+
+    public boolean test(long l);
+
+    public default LongPredicate and(LongPredicate other) {
+        return l -> test(l) && other.test(l);
+    }
+
+    public default LongPredicate or(LongPredicate other) {
+        return l -> test(l) || other.test(l);
+    }
+
+    public default LongPredicate negate() {
+        return l -> !test(l);
+    }
+
+    public static LongPredicate isEqualsTo(long value) {
+        return l -> l == value;
+    }
+
+    /**
+     * Tests if a value is one of the provided values. Values that fall in a dense range are looked up in a bit
+     * set, the others in an open addressing hash set. The provided array is copied.
+     */
+    public static LongPredicate isIn(long... values) {
+        return PrimitiveSets.of(values);
+    }
+}
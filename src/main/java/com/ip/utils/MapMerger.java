@@ -0,0 +1,130 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * <p>Merges many partial maps of lists, as the ones built per shard or per thread, into one map. </p>
+ * <p>Folding the maps one by one with <code>Map.merge()</code> and <code>addAll()</code> copies the lists of a key
+ * again each time a map is folded. Here the maps are merged pairwise in a fork-join tree, and a merged value only
+ * records the lists it is made of, without copying them. The lists of each key are then copied once, in
+ * parallel, into the list of the result. </p>
+ * <p>The values of a key are in the order of the maps, then in the order of their lists. The provided maps and
+ * lists are not modified. </p>
+ * <pre>{@code
+ *     Map<City, List<CityPerson>> merged = MapMerger.mergeAll(Arrays.asList(map1, map2, map3));
+ * }</pre>
+ */
+public final class MapMerger {
+
+    private MapMerger() {
+    }
+
+    public static <K, V> Map<K, List<V>> mergeAll(List<? extends Map<K, ? extends List<? extends V>>> maps) {
+        Objects.requireNonNull(maps);
+        if (maps.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<K, Segments<V>> merged = ForkJoinPool.commonPool().invoke(new MergeTask<>(maps, 0, maps.size()));
+
+        List<Map.Entry<K, Segments<V>>> entries = new ArrayList<>(merged.entrySet());
+        List<List<V>> lists = entries.parallelStream().map(entry -> entry.getValue().flatten()).collect(toList());
+        Map<K, List<V>> result = new HashMap<>(2 * entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            result.put(entries.get(i).getKey(), lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * The lists that make the values of a key, in order.
+     */
+    private static final class Segments<V> {
+
+        private final List<List<? extends V>> parts;
+        private final int size;
+
+        private Segments(List<List<? extends V>> parts, int size) {
+            this.parts = parts;
+            this.size = size;
+        }
+
+        private static <V> Segments<V> of(List<? extends V> list) {
+            return new Segments<>(Collections.singletonList(Objects.requireNonNull(list)), list.size());
+        }
+
+        private static <V> Segments<V> concat(Segments<V> first, Segments<V> second) {
+            List<List<? extends V>> parts = new ArrayList<>(first.parts.size() + second.parts.size());
+            parts.addAll(first.parts);
+            parts.addAll(second.parts);
+            return new Segments<>(parts, first.size + second.size);
+        }
+
+        private List<V> flatten() {
+            List<V> list = new ArrayList<>(size);
+            parts.forEach(list::addAll);
+            return list;
+        }
+    }
+
+    private static final class MergeTask<K, V> extends RecursiveTask<Map<K, Segments<V>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends Map<K, ? extends List<? extends V>>> maps;
+        private final int from;
+        private final int to;
+
+        private MergeTask(List<? extends Map<K, ? extends List<? extends V>>> maps, int from, int to) {
+            this.maps = maps;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<K, Segments<V>> compute() {
+            if (to - from == 1) {
+                Map<K, ? extends List<? extends V>> map = maps.get(from);
+                Map<K, Segments<V>> segments = new HashMap<>(2 * map.size());
+                map.forEach((key, list) -> segments.put(key, Segments.of(list)));
+                return segments;
+            }
+            int middle = (from + to) >>> 1;
+            MergeTask<K, V> left = new MergeTask<>(maps, from, middle);
+            left.fork();
+            Map<K, Segments<V>> right = new MergeTask<>(maps, middle, to).compute();
+            return merge(left.join(), right);
+        }
+
+        /**
+         * Merges the smaller map into the larger one, keeping the values of the left map first.
+         */
+        private static <K, V> Map<K, Segments<V>> merge(Map<K, Segments<V>> left, Map<K, Segments<V>> right) {
+            if (left.size() >= right.size()) {
+                right.forEach((key, segments) -> left.merge(key, segments, Segments::concat));
+                return left;
+            } else {
+                left.forEach((key, segments) -> right.merge(key, segments, (r, l) -> Segments.concat(l, r)));
+                return right;
+            }
+        }
+    }
+}
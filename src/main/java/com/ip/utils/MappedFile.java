@@ -0,0 +1,93 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * A read-only file mapped in memory, that can be read at any <code>long</code> position. The file is mapped in
+ * windows of 1GB, since a single mapping cannot go over 2GB.
+ * <p>
+ * A mapping stays valid once the channel it has been created with is closed, so no file handle is kept open.
+ * The mapped memory is released when this object is collected. This class is immutable and can be read by
+ * several threads.
+ */
+public final class MappedFile {
+
+    private static final int WINDOW_SHIFT = 30;
+    private static final long WINDOW_SIZE = 1L << WINDOW_SHIFT;
+    private static final long WINDOW_MASK = WINDOW_SIZE - 1L;
+
+    private final MappedByteBuffer[] windows;
+    private final long size;
+
+    public static MappedFile map(Path path) throws IOException {
+        Objects.requireNonNull(path);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer[] windows = new MappedByteBuffer[(int) ((size + WINDOW_SIZE - 1L) >>> WINDOW_SHIFT)];
+            for (int i = 0; i < windows.length; i++) {
+                long position = (long) i << WINDOW_SHIFT;
+                windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+            }
+            return new MappedFile(windows, size);
+        }
+    }
+
+    private MappedFile(MappedByteBuffer[] windows, long size) {
+        this.windows = windows;
+        this.size = size;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public byte byteAt(long position) {
+        return windows[(int) (position >>> WINDOW_SHIFT)].get((int) (position & WINDOW_MASK));
+    }
+
+    /**
+     * @return the position of the first occurrence of <code>b</code> in <code>[from, to)</code>, or -1
+     */
+    public long indexOf(byte b, long from, long to) {
+        for (long position = from; position < to; position++) {
+            if (byteAt(position) == b) {
+                return position;
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * Copies the <code>length</code> bytes starting at <code>position</code> in <code>bytes</code>. These bytes
+     * may span two windows.
+     */
+    public void get(long position, byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            int window = (int) (position >>> WINDOW_SHIFT);
+            int index = (int) (position & WINDOW_MASK);
+            int count = Math.min(length, windows[window].limit() - index);
+            ByteBuffer reader = windows[window].duplicate();
+            reader.position(index);
+            reader.get(bytes, offset, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+}
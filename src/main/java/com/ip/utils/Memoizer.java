@@ -0,0 +1,242 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>A function that caches the results of another, pure, function, so that a key seen again is not computed
+ * again. The cache holds at most <code>maxSize</code> results, and can be used from several threads. </p>
+ * <p>The cache is split in up to 16 segments of at least 16 results, chosen by the hash of the key, each one
+ * guarded by its own lock. A segment evicts with a segmented LRU policy: a new key enters a probation area, and is
+ * promoted to a protected area the next time it is read. The evicted key is the least recently used one of the
+ * probation area, so that a scan of keys seen once does not evict the keys that are read again and again. </p>
+ * <p>Each thread also remembers the last key it has read and its result, and answers a repeated key without
+ * taking any lock. The result is computed outside of the locks: two threads missing the same key at the same
+ * time both compute it. </p>
+ * <pre>{@code
+ *     Memoizer<String, Integer> count = Memoizer.memoize(StringExercises::countLowercaseLetters, 10_000);
+ *     strings.stream().max(Comparator.comparing(count)).get();
+ *     System.out.println(count.hitCount() + " hits, " + count.missCount() + " misses");
+ * }</pre>
+ */
+public final class Memoizer<T, R> implements Function<T, R> {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 16;
+    private static final Object NULL = new Object();
+
+    private final Function<? super T, ? extends R> function;
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final ThreadLocal<LastEntry> lastEntry = new ThreadLocal<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * <p>Returns a function that caches at most <code>maxSize</code> results of the provided function. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the function is null. The returned function throws
+     * it for a null key. </p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if the maximum size is lesser than 1. </p>
+     *
+     * @param function the function to memoize, that should have no side effects
+     * @param maxSize  the maximum number of results held by the cache
+     * @param <T>      the type of the keys
+     * @param <R>      the type of the results
+     * @return the memoizing function
+     */
+    public static <T, R> Memoizer<T, R> memoize(Function<? super T, ? extends R> function, int maxSize) {
+        return new Memoizer<>(function, maxSize);
+    }
+
+    private Memoizer(Function<? super T, ? extends R> function, int maxSize) {
+        Objects.requireNonNull(function);
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize should not be less than 1");
+        }
+        this.function = function;
+        // small segments would evict their keys while the other ones have room: a segment holds at least 16 keys
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxSize / MIN_SEGMENT_SIZE)));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // the remainder is spread on the first segments, so that the capacities add up to maxSize
+            segments[i] = new Segment(maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0), evictions);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    @Override
+    public R apply(T key) {
+        Objects.requireNonNull(key);
+
+        LastEntry last = lastEntry.get();
+        if (last != null && last.key.equals(key)) {
+            hits.increment();
+            return unmask(last.value);
+        }
+
+        Segment segment = segmentFor(key);
+        Object value = segment.get(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            value = mask(function.apply(key));
+            segment.put(key, value);
+        }
+        lastEntry.set(new LastEntry(key, value));
+        return unmask(value);
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    private static Object mask(Object value) {
+        return value == null ? NULL : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private R unmask(Object value) {
+        return value == NULL ? null : (R) value;
+    }
+
+    /**
+     * @return the number of keys which result was read from the cache
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of keys which result was computed
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of results evicted from the cache
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of results held by the cache
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Removes all the results from the cache. The last key read by each thread is kept.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Memoizer{size=" + size() + ", hits=" + hitCount() + ", misses=" + missCount()
+                + ", evictions=" + evictionCount() + "}";
+    }
+
+    private static final class LastEntry {
+
+        private final Object key;
+        private final Object value;
+
+        private LastEntry(Object key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A segmented LRU cache: two access ordered maps, the protected one holding up to 80% of the capacity.
+     */
+    private static final class Segment {
+
+        private final int capacity;
+        private final int protectedCapacity;
+        private final LongAdder evictions;
+        private final LinkedHashMap<Object, Object> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<Object, Object> protectedArea = new LinkedHashMap<>(16, 0.75f, true);
+
+        private Segment(int capacity, LongAdder evictions) {
+            this.capacity = capacity;
+            this.protectedCapacity = capacity * 4 / 5;
+            this.evictions = evictions;
+        }
+
+        private synchronized Object get(Object key) {
+            Object value = protectedArea.get(key);
+            if (value != null) {
+                return value;
+            }
+            value = probation.remove(key);
+            if (value != null) {
+                promote(key, value);
+            }
+            return value;
+        }
+
+        private void promote(Object key, Object value) {
+            if (protectedCapacity == 0) {
+                probation.put(key, value);
+                return;
+            }
+            if (protectedArea.size() >= protectedCapacity) {
+                Map.Entry<Object, Object> eldest = protectedArea.entrySet().iterator().next();
+                protectedArea.remove(eldest.getKey());
+                // the demoted key is the most recently used of the probation area
+                probation.put(eldest.getKey(), eldest.getValue());
+            }
+            protectedArea.put(key, value);
+        }
+
+        private synchronized void put(Object key, Object value) {
+            if (protectedArea.containsKey(key) || probation.containsKey(key)) {
+                // computed by another thread in the meantime
+                return;
+            }
+            probation.put(key, value);
+            while (probation.size() + protectedArea.size() > capacity) {
+                Iterator<Object> eldest = (probation.isEmpty() ? protectedArea : probation).keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        private synchronized int size() {
+            return probation.size() + protectedArea.size();
+        }
+
+        private synchronized void clear() {
+            probation.clear();
+            protectedArea.clear();
+        }
+    }
+}
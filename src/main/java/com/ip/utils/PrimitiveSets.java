@@ -0,0 +1,130 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>The sets behind <code>IntPredicate.isIn()</code> and <code>LongPredicate.isIn()</code>. </p>
+ * <p>When the values span a range that is small compared to their number, a lookup is a bit test in an array of
+ * <code>long</code>s. Otherwise the values are put in an open addressing hash set with linear probing, which
+ * table is an array of <code>long</code>s, and 0 stands for an empty slot. No value is ever boxed. </p>
+ */
+final class PrimitiveSets {
+
+    /**
+     * The bit set is used when it takes less than this number of bits, or less than <code>DENSE_BITS_PER_VALUE</code>
+     * bits per value.
+     */
+    private static final long MIN_DENSE_BITS = 1L << 12;
+    private static final long DENSE_BITS_PER_VALUE = 32L;
+
+    private PrimitiveSets() {
+    }
+
+    static IntPredicate of(int[] values) {
+        Objects.requireNonNull(values);
+
+        LongPredicate set = of(Arrays.stream(values).asLongStream().toArray());
+        return set::test;
+    }
+
+    static LongPredicate of(long[] values) {
+        Objects.requireNonNull(values);
+
+        long[] distinct = Arrays.stream(values).sorted().distinct().toArray();
+        if (distinct.length == 0) {
+            return l -> false;
+        }
+        if (distinct.length == 1) {
+            long value = distinct[0];
+            return l -> l == value;
+        }
+        long min = distinct[0];
+        long span = distinct[distinct.length - 1] - min;
+        // a negative span overflowed
+        if (span >= 0 && span < Math.max(MIN_DENSE_BITS, DENSE_BITS_PER_VALUE * distinct.length)) {
+            return new BitSetLookup(min, span + 1, distinct);
+        }
+        return new HashLookup(distinct);
+    }
+
+    private static final class BitSetLookup implements LongPredicate {
+
+        private final long min;
+        private final long size;
+        private final long[] words;
+
+        private BitSetLookup(long min, long size, long[] values) {
+            this.min = min;
+            this.size = size;
+            this.words = new long[(int) ((size + 63) >>> 6)];
+            for (long value : values) {
+                long offset = value - min;
+                words[(int) (offset >>> 6)] |= 1L << offset;
+            }
+        }
+
+        @Override
+        public boolean test(long l) {
+            long offset = l - min;
+            return offset >= 0 && offset < size && (words[(int) (offset >>> 6)] & (1L << offset)) != 0;
+        }
+    }
+
+    private static final class HashLookup implements LongPredicate {
+
+        private final long[] table;
+        private final int mask;
+        private final int shift;
+        private final boolean containsZero;
+
+        private HashLookup(long[] values) {
+            int capacity = Integer.highestOneBit(Math.max(2, values.length) - 1) << 2;
+            this.table = new long[capacity];
+            this.mask = capacity - 1;
+            this.shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+            boolean zero = false;
+            for (long value : values) {
+                if (value == 0L) {
+                    zero = true;
+                    continue;
+                }
+                int slot = slot(value);
+                while (table[slot] != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+            this.containsZero = zero;
+        }
+
+        private int slot(long value) {
+            return (int) ((value * 0x9E37_79B9_7F4A_7C15L) >>> shift);
+        }
+
+        @Override
+        public boolean test(long l) {
+            if (l == 0L) {
+                return containsZero;
+            }
+            for (int slot = slot(l); ; slot = (slot + 1) & mask) {
+                long value = table[slot];
+                if (value == l) {
+                    return true;
+                }
+                if (value == 0L) {
+                    return false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.stream.IntStream;
+
+/**
+ * <p>A stable least significant digit radix sort of <code>long</code> keys, compared as unsigned values. The keys
+ * are sorted one byte at a time, from the lowest to the highest, each byte by counting. A byte that is the same
+ * for all the keys is skipped: sorting ages or other small keys takes a single pass. </p>
+ * <p>The parallel sort counts and moves the keys by chunks, each chunk writing to its own part of every bucket,
+ * so that the order of equal keys is kept. </p>
+ */
+final class RadixSort {
+
+    private static final int DIGIT_BITS = 8;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int MASK = RADIX - 1;
+    private static final int DIGITS = Long.SIZE / DIGIT_BITS;
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private RadixSort() {
+    }
+
+    /**
+     * @return a key which unsigned order is the signed order of the <code>int</code>
+     */
+    static long unsigned(int key) {
+        return (key ^ Integer.MIN_VALUE) & 0xFFFF_FFFFL;
+    }
+
+    /**
+     * @return a key which unsigned order is the signed order of the <code>long</code>
+     */
+    static long unsigned(long key) {
+        return key ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Computes the stable sorting order of the keys, compared as unsigned values. The keys array is used as a
+     * buffer, its content is lost.
+     *
+     * @return the indexes of the keys, in the order of the keys
+     */
+    static int[] order(long[] keys, boolean parallel) {
+        int n = keys.length;
+        int chunks = parallel ? (n + CHUNK_SIZE - 1) / CHUNK_SIZE : 1;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        if (n < 2) {
+            return order;
+        }
+
+        int[][] totals = histograms(keys, chunks);
+        long[] sourceKeys = keys;
+        int[] source = order;
+        long[] targetKeys = new long[n];
+        int[] target = new int[n];
+        for (int digit = 0; digit < DIGITS; digit++) {
+            if (isConstant(totals[digit], n)) {
+                continue;
+            }
+            int shift = digit * DIGIT_BITS;
+            if (chunks == 1) {
+                scatter(sourceKeys, source, targetKeys, target, 0, n, shift, offsets(totals[digit]));
+            } else {
+                scatterByChunks(sourceKeys, source, targetKeys, target, chunks, shift);
+            }
+            long[] keysSwap = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = keysSwap;
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        return source;
+    }
+
+    /**
+     * Counts the values of every digit in one pass over the keys.
+     */
+    private static int[][] histograms(long[] keys, int chunks) {
+        if (chunks == 1) {
+            return histograms(keys, 0, keys.length);
+        }
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> histograms(keys, chunk * CHUNK_SIZE, (int) Math.min(keys.length, (chunk + 1L) * CHUNK_SIZE)))
+                .reduce((h1, h2) -> {
+                    for (int digit = 0; digit < DIGITS; digit++) {
+                        for (int value = 0; value < RADIX; value++) {
+                            h1[digit][value] += h2[digit][value];
+                        }
+                    }
+                    return h1;
+                })
+                .get();
+    }
+
+    private static int[][] histograms(long[] keys, int from, int to) {
+        int[][] counts = new int[DIGITS][RADIX];
+        for (int i = from; i < to; i++) {
+            long key = keys[i];
+            for (int digit = 0; digit < DIGITS; digit++) {
+                counts[digit][(int) (key >>> (digit * DIGIT_BITS)) & MASK]++;
+            }
+        }
+        return counts;
+    }
+
+    private static boolean isConstant(int[] counts, int n) {
+        for (int count : counts) {
+            if (count != 0) {
+                return count == n;
+            }
+        }
+        return true;
+    }
+
+    private static int[] offsets(int[] counts) {
+        int[] offsets = new int[RADIX];
+        int offset = 0;
+        for (int value = 0; value < RADIX; value++) {
+            offsets[value] = offset;
+            offset += counts[value];
+        }
+        return offsets;
+    }
+
+    private static void scatter(
+            long[] sourceKeys, int[] source, long[] targetKeys, int[] target, int from, int to, int shift, int[] offsets) {
+        for (int i = from; i < to; i++) {
+            long key = sourceKeys[i];
+            int position = offsets[(int) (key >>> shift) & MASK]++;
+            targetKeys[position] = key;
+            target[position] = source[i];
+        }
+    }
+
+    private static void scatterByChunks(
+            long[] sourceKeys, int[] source, long[] targetKeys, int[] target, int chunks, int shift) {
+        int n = sourceKeys.length;
+        int[][] counts = new int[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int[] chunkCounts = new int[RADIX];
+            for (int i = chunk * CHUNK_SIZE, to = (int) Math.min(n, (chunk + 1L) * CHUNK_SIZE); i < to; i++) {
+                chunkCounts[(int) (sourceKeys[i] >>> shift) & MASK]++;
+            }
+            counts[chunk] = chunkCounts;
+        });
+
+        // a bucket holds the keys of the first chunk, then the keys of the second one, and so on
+        int[][] offsets = new int[chunks][RADIX];
+        int offset = 0;
+        for (int value = 0; value < RADIX; value++) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                offsets[chunk][value] = offset;
+                offset += counts[chunk][value];
+            }
+        }
+
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+                scatter(sourceKeys, source, targetKeys, target,
+                        chunk * CHUNK_SIZE, (int) Math.min(n, (chunk + 1L) * CHUNK_SIZE), shift, offsets[chunk]));
+    }
+}
@@ -0,0 +1,185 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collector;
+
+/**
+ * <p>A fixed size uniform random sample of a stream of unknown length. </p>
+ * <p>Elements are sampled with Algorithm L: once the reservoir is full, the number of elements to skip before
+ * the next replacement is drawn directly, so most elements cost a single counter comparison. Two reservoirs
+ * built on disjoint parts of a stream can be merged into a uniform sample of the whole stream, weighting each
+ * side by the number of elements it has seen. </p>
+ * <pre>{@code
+ *     List<Person> sample = persons.parallelStream().collect(Reservoir.sampling(100));
+ * }</pre>
+ * <p>A reservoir is not thread safe. </p>
+ *
+ * @param <E> the type of the sampled elements
+ */
+public final class Reservoir<E> {
+
+    private final int size;
+    private final Object[] sample;
+    private final SplittableRandom random;
+
+    private long count;
+    private double w;
+    private long next;
+    private boolean skipping = true;
+
+    /**
+     * <p>Creates an empty reservoir. </p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if the size is lesser than 1. </p>
+     *
+     * @param size the number of elements of the sample
+     */
+    public Reservoir(int size) {
+        this(size, new SplittableRandom());
+    }
+
+    /**
+     * <p>Creates an empty reservoir that draws its random numbers from a seeded generator, for reproducible
+     * samples. </p>
+     *
+     * @param size the number of elements of the sample
+     * @param seed the seed of the random generator
+     */
+    public Reservoir(int size, long seed) {
+        this(size, new SplittableRandom(seed));
+    }
+
+    private Reservoir(int size, SplittableRandom random) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size should not be less than 1");
+        }
+        this.size = size;
+        this.sample = new Object[size];
+        this.random = random;
+    }
+
+    /**
+     * <p>Returns an <code>UNORDERED</code> collector that samples <code>size</code> elements of a stream. The
+     * collector merges the partial reservoirs of a parallel stream. </p>
+     *
+     * @param size the number of elements of the sample
+     * @param <E>  the type of the sampled elements
+     * @return the list of the sampled elements, in no particular order
+     */
+    public static <E> Collector<E, Reservoir<E>, List<E>> sampling(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size should not be less than 1");
+        }
+        return Collector.of(
+                () -> new Reservoir<>(size),
+                Reservoir::add,
+                Reservoir::merge,
+                Reservoir::getSample,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    public void add(E e) {
+        if (count < size) {
+            sample[(int) count++] = e;
+            if (count == size) {
+                w = Math.exp(Math.log(nextOpenDouble()) / size);
+                next = count + skip();
+            }
+            return;
+        }
+        if (!skipping) {
+            // plain Algorithm R, used once the skip state has been lost by a merge
+            long index = random.nextLong(++count);
+            if (index < size) {
+                sample[(int) index] = e;
+            }
+            return;
+        }
+        if (count++ == next) {
+            sample[random.nextInt(size)] = e;
+            w *= Math.exp(Math.log(nextOpenDouble()) / size);
+            next = count + skip();
+        }
+    }
+
+    /**
+     * <p>Merges the provided reservoir into this one, and returns this reservoir. The merged sample is a uniform
+     * sample of the union of the elements seen by both reservoirs. The provided reservoir should not be used
+     * after this call. </p>
+     *
+     * @param other the merged reservoir
+     * @return this reservoir
+     */
+    public Reservoir<E> merge(Reservoir<E> other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Cannot merge reservoirs of size " + size + " and " + other.size);
+        }
+        if (other.count == 0L) {
+            return this;
+        }
+        Object[] mine = Arrays.copyOf(sample, (int) Math.min(count, size));
+        Object[] theirs = other.sample;
+        int mineLeft = mine.length;
+        int theirsLeft = (int) Math.min(other.count, size);
+        long minePopulation = count;
+        long theirsPopulation = other.count;
+
+        int merged = (int) Math.min(size, count + other.count);
+        for (int i = 0; i < merged; i++) {
+            // draws without replacement from the union, each side weighted by the elements it stands for
+            if (random.nextLong(minePopulation + theirsPopulation) < minePopulation) {
+                int index = random.nextInt(mineLeft);
+                sample[i] = mine[index];
+                mine[index] = mine[--mineLeft];
+                minePopulation--;
+            } else {
+                int index = random.nextInt(theirsLeft);
+                sample[i] = theirs[index];
+                theirs[index] = theirs[--theirsLeft];
+                theirsPopulation--;
+            }
+        }
+        count += other.count;
+        skipping = count < size;
+        return this;
+    }
+
+    /**
+     * @return the sampled elements, in no particular order
+     */
+    @SuppressWarnings("unchecked")
+    public List<E> getSample() {
+        List<E> list = new ArrayList<>((int) Math.min(count, size));
+        for (int i = 0; i < Math.min(count, size); i++) {
+            list.add((E) sample[i]);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * @return the number of elements seen by this reservoir
+     */
+    public long getCount() {
+        return count;
+    }
+
+    private long skip() {
+        return (long) Math.floor(Math.log(nextOpenDouble()) / Math.log1p(-w));
+    }
+
+    private double nextOpenDouble() {
+        return 1d - random.nextDouble();
+    }
+}
@@ -0,0 +1,254 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Sorts that extract the key of each element once, instead of twice per comparison as a comparator built on a
+ * key extractor does. The keys are extracted in a first pass, the elements are sorted on these keys, and put back
+ * in their new order. This pays off as soon as the key costs more to compute than to compare. </p>
+ * <p>An <code>int</code> key and the index of its element are packed in one <code>long</code>, so that the
+ * sort is a sort of primitives. The other keys are paired with their element in a small holder. All the sorts
+ * are stable, and the parallel ones extract the keys in parallel too. </p>
+ * <p>From <code>RADIX_SORT_THRESHOLD</code> elements on, the <code>int</code>, <code>long</code> and
+ * <code>double</code> keys are sorted with a radix sort, in a time linear in the number of elements. Sorting by
+ * an age takes a single counting pass. </p>
+ */
+public final class Sorting {
+
+    /**
+     * The number of elements from which the primitive keys are radix sorted.
+     */
+    static final int RADIX_SORT_THRESHOLD = 256;
+
+    private Sorting() {
+    }
+
+    private static final class Keyed<T, K> {
+
+        private final T element;
+        private final K key;
+
+        private Keyed(T element, K key) {
+            this.element = element;
+            this.key = key;
+        }
+    }
+
+    private static final class LongKeyed<T> {
+
+        private final T element;
+        private final long key;
+
+        private LongKeyed(T element, long key) {
+            this.element = element;
+            this.key = key;
+        }
+    }
+
+    public static <T, K extends Comparable<? super K>> void sortByKey(T[] array, Function<? super T, ? extends K> key, boolean parallel) {
+        sortByKey(array, key, Comparator.naturalOrder(), parallel);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T, K> void sortByKey(
+            T[] array, Function<? super T, ? extends K> key, Comparator<? super K> comparator, boolean parallel) {
+        Objects.requireNonNull(array);
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(comparator);
+
+        Keyed<T, K>[] keyed = new Keyed[array.length];
+        setAll(keyed, i -> new Keyed<>(array[i], key.apply(array[i])), parallel);
+        Comparator<Keyed<T, K>> byKey = (k1, k2) -> comparator.compare(k1.key, k2.key);
+        if (parallel) {
+            Arrays.parallelSort(keyed, byKey);
+        } else {
+            Arrays.sort(keyed, byKey);
+        }
+        for (int i = 0; i < array.length; i++) {
+            array[i] = keyed[i].element;
+        }
+    }
+
+    public static <T> void sortByIntKey(T[] array, ToIntFunction<? super T> key, boolean parallel) {
+        Objects.requireNonNull(array);
+        Objects.requireNonNull(key);
+
+        if (array.length >= RADIX_SORT_THRESHOLD) {
+            long[] keys = new long[array.length];
+            setAll(keys, i -> RadixSort.unsigned(key.applyAsInt(array[i])), parallel);
+            reorder(array, RadixSort.order(keys, parallel));
+            return;
+        }
+        // the key in the high bits, the index in the low bits: equal keys stay in the order of their indexes
+        long[] packed = new long[array.length];
+        if (parallel) {
+            Arrays.parallelSetAll(packed, i -> ((long) key.applyAsInt(array[i]) << 32) | i);
+            Arrays.parallelSort(packed);
+        } else {
+            Arrays.setAll(packed, i -> ((long) key.applyAsInt(array[i]) << 32) | i);
+            Arrays.sort(packed);
+        }
+        T[] elements = array.clone();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = elements[(int) packed[i]];
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> void sortByLongKey(T[] array, ToLongFunction<? super T> key, boolean parallel) {
+        Objects.requireNonNull(array);
+        Objects.requireNonNull(key);
+
+        if (array.length >= RADIX_SORT_THRESHOLD) {
+            long[] keys = new long[array.length];
+            setAll(keys, i -> RadixSort.unsigned(key.applyAsLong(array[i])), parallel);
+            reorder(array, RadixSort.order(keys, parallel));
+            return;
+        }
+        LongKeyed<T>[] keyed = new LongKeyed[array.length];
+        setAll(keyed, i -> new LongKeyed<>(array[i], key.applyAsLong(array[i])), parallel);
+        Comparator<LongKeyed<T>> byKey = (k1, k2) -> Long.compare(k1.key, k2.key);
+        if (parallel) {
+            Arrays.parallelSort(keyed, byKey);
+        } else {
+            Arrays.sort(keyed, byKey);
+        }
+        for (int i = 0; i < array.length; i++) {
+            array[i] = keyed[i].element;
+        }
+    }
+
+    /**
+     * Sorts on the order of <code>Double.compare()</code>, the keys being turned in <code>long</code> keys that
+     * have the same order.
+     */
+    public static <T> void sortByDoubleKey(T[] array, ToDoubleFunction<? super T> key, boolean parallel) {
+        Objects.requireNonNull(key);
+
+        sortByLongKey(array, t -> sortableBits(key.applyAsDouble(t)), parallel);
+    }
+
+    /**
+     * @return a <code>long</code> which signed order is the order of <code>Double.compare()</code>
+     */
+    static long sortableBits(double d) {
+        long bits = Double.doubleToLongBits(d);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * <p>Sorts the array with the comparator. A comparator returned by <code>Comparator.comparingInt()</code> or
+     * <code>Comparator.comparingLong()</code>, or reversed from one, sorts with a radix sort on its key. Any other
+     * comparator sorts with <code>Arrays.sort()</code> or <code>Arrays.parallelSort()</code>. The sort is
+     * stable. </p>
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(T[] array, com.ip.utils.Comparator<? super T> comparator, boolean parallel) {
+        Objects.requireNonNull(array);
+        Objects.requireNonNull(comparator);
+
+        if (comparator instanceof IntKeyComparator) {
+            sortByIntKey(array, ((IntKeyComparator<? super T>) comparator).key, parallel);
+        } else if (comparator instanceof LongKeyComparator) {
+            sortByLongKey(array, ((LongKeyComparator<? super T>) comparator).key, parallel);
+        } else if (parallel) {
+            Arrays.parallelSort(array, comparator::compare);
+        } else {
+            Arrays.sort(array, comparator::compare);
+        }
+    }
+
+    public static <T, K extends Comparable<? super K>> void sortByKey(List<T> list, Function<? super T, ? extends K> key, boolean parallel) {
+        sortByKey(list, key, Comparator.naturalOrder(), parallel);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, K> void sortByKey(
+            List<T> list, Function<? super T, ? extends K> key, Comparator<? super K> comparator, boolean parallel) {
+        Object[] array = list.toArray();
+        sortByKey((T[]) array, key, comparator, parallel);
+        setAll(list, array);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void sortByIntKey(List<T> list, ToIntFunction<? super T> key, boolean parallel) {
+        Object[] array = list.toArray();
+        sortByIntKey((T[]) array, key, parallel);
+        setAll(list, array);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void sortByLongKey(List<T> list, ToLongFunction<? super T> key, boolean parallel) {
+        Object[] array = list.toArray();
+        sortByLongKey((T[]) array, key, parallel);
+        setAll(list, array);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void sortByDoubleKey(List<T> list, ToDoubleFunction<? super T> key, boolean parallel) {
+        Object[] array = list.toArray();
+        sortByDoubleKey((T[]) array, key, parallel);
+        setAll(list, array);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(List<T> list, com.ip.utils.Comparator<? super T> comparator, boolean parallel) {
+        Object[] array = list.toArray();
+        sort((T[]) array, comparator, parallel);
+        setAll(list, array);
+    }
+
+    private static <E> void setAll(E[] array, IntFunction<? extends E> generator, boolean parallel) {
+        if (parallel) {
+            Arrays.parallelSetAll(array, generator);
+        } else {
+            Arrays.setAll(array, generator);
+        }
+    }
+
+    private static void setAll(long[] array, IntToLongFunction generator, boolean parallel) {
+        if (parallel) {
+            Arrays.parallelSetAll(array, generator);
+        } else {
+            Arrays.setAll(array, generator);
+        }
+    }
+
+    private static <T> void reorder(T[] array, int[] order) {
+        T[] elements = array.clone();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = elements[order[i]];
+        }
+    }
+
+    /**
+     * Puts the sorted elements back in the list, as <code>List.sort()</code> does.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void setAll(List<T> list, Object[] array) {
+        ListIterator<T> iterator = list.listIterator();
+        for (Object element : array) {
+            iterator.next();
+            iterator.set((T) element);
+        }
+    }
+}
@@ -12,7 +12,13 @@ package com.ip.utils;
 
 
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.Comparator;
 import java.util.function.*;
 import java.util.stream.*;
 
@@ -20,8 +26,17 @@ import com.ip.splitors.AccumulatingEntriesSpliterator;
 import com.ip.splitors.AccumulatingSpliterator;
 import com.ip.splitors.CrossProductOrderedSpliterator;
 import com.ip.splitors.CyclingSpliterator;
+import com.ip.splitors.DistinctFilteringSpliterator;
+import com.ip.splitors.ExternalSortSpliterator;
 import com.ip.splitors.FilteringAllMaxSpliterator;
 import com.ip.splitors.FilteringMaxKeysSpliterator;
+import com.ip.splitors.HashJoinSpliterator;
+import com.ip.splitors.MappedLinesSpliterator;
+import com.ip.splitors.MergingSortedSpliterator;
+import com.ip.splitors.OffHeapElementBuffer;
+import com.ip.splitors.SamplingSpliterator;
+import com.ip.splitors.SortMergeJoinSpliterator;
+import com.ip.splitors.SpillingElementBuffer;
 
 import static java.util.function.Function.identity;
 
@@ -59,7 +74,31 @@ public class StreamsUtils {
         Objects.requireNonNull(stream);
 
         CyclingSpliterator<E> spliterator = CyclingSpliterator.of(stream.spliterator());
-        return StreamSupport.stream(spliterator, stream.isParallel()).onClose(stream::close).flatMap(identity());
+        return StreamSupport.stream(spliterator, stream.isParallel())
+                .onClose(spliterator::close).onClose(stream::close)
+                .flatMap(identity());
+    }
+
+    /**
+     * <p>Generates a stream by repeating the elements of the provided stream forever, as {@link #cycle(Stream)}
+     * does, keeping these elements off the heap. </p>
+     * <p>The elements are encoded with the provided codec in direct buffers, and decoded again each time they
+     * are read. The garbage collector does not have to go through them, whatever their number. The buffers are
+     * released when the returned stream is closed.</p>
+     * <p>A <code>NullPointerException</code> will be thrown if the provided stream or codec is null.</p>
+     *
+     * @param stream The stream to cycle on.
+     * @param codec  The codec used to store the elements of the stream.
+     * @param <E>    The type of the elements of the provided stream.
+     * @return A cycling stream.
+     */
+    public static <E> Stream<E> cycleOffHeap(Stream<E> stream, ElementCodec<E> codec) {
+        Objects.requireNonNull(stream);
+
+        CyclingSpliterator<E> spliterator = CyclingSpliterator.of(stream.spliterator(), OffHeapElementBuffer.of(codec));
+        return StreamSupport.stream(spliterator, stream.isParallel())
+                .onClose(spliterator::close).onClose(stream::close)
+                .flatMap(identity());
     }
 
     /**
@@ -83,6 +122,56 @@ public class StreamsUtils {
         return StreamSupport.stream(spliterator, stream.isParallel()).onClose(stream::close);
     }
 
+    /**
+     * <p>Generates a stream of <code>Map.Entry&lt;E, E&gt;</code> elements with all the cartesian product of the
+     * elements of the provided stream with itself, as {@link #crossProduct(Stream)} does, for streams too large
+     * to be kept on the heap. </p>
+     * <p>The elements seen so far are buffered on the heap up to <code>spillThreshold</code> elements. Past this
+     * threshold, they are encoded with the provided codec and appended to a memory mapped temporary file, from
+     * which they are read back for each new element. The temporary file is deleted when the returned stream is
+     * fully consumed or closed. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the provided stream or codec is null.</p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if the spill threshold is lesser than 1. </p>
+     *
+     * @param stream         the processed stream
+     * @param codec          the codec used to write the buffered elements to disk
+     * @param spillThreshold the number of buffered elements kept on the heap
+     * @param <E>            the type of the provided stream
+     * @return a stream of the cartesian product
+     */
+    public static <E> Stream<Map.Entry<E, E>> crossProduct(Stream<E> stream, ElementCodec<E> codec, int spillThreshold) {
+        Objects.requireNonNull(stream);
+
+        SpillingElementBuffer<E> buffer =
+                SpillingElementBuffer.of(codec, spillThreshold, Paths.get(System.getProperty("java.io.tmpdir")));
+        CrossProductOrderedSpliterator<E> spliterator =
+                CrossProductOrderedSpliterator.of(stream.spliterator(), buffer);
+
+        return StreamSupport.stream(spliterator, stream.isParallel()).onClose(spliterator::close).onClose(stream::close);
+    }
+
+    /**
+     * <p>Generates a stream of <code>Map.Entry&lt;E, E&gt;</code> elements with all the cartesian product of the
+     * elements of the provided stream with itself, as {@link #crossProduct(Stream)} does, keeping the elements
+     * seen so far off the heap. </p>
+     * <p>These elements are encoded with the provided codec in direct buffers, and decoded again for each new
+     * element. The buffers are released when the returned stream is fully consumed or closed. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the provided stream or codec is null.</p>
+     *
+     * @param stream the processed stream
+     * @param codec  the codec used to store the buffered elements
+     * @param <E>    the type of the provided stream
+     * @return a stream of the cartesian product
+     */
+    public static <E> Stream<Map.Entry<E, E>> crossProductOffHeap(Stream<E> stream, ElementCodec<E> codec) {
+        Objects.requireNonNull(stream);
+
+        CrossProductOrderedSpliterator<E> spliterator =
+                CrossProductOrderedSpliterator.of(stream.spliterator(), OffHeapElementBuffer.of(codec));
+
+        return StreamSupport.stream(spliterator, stream.isParallel()).onClose(spliterator::close).onClose(stream::close);
+    }
+
     /**
      * <p>Generates a stream of <code>Map.Entry&lt;E, E&gt;</code> elements with all the cartesian product of the
      * elements of the provided stream with itself, without the entries in which the key and the
@@ -286,4 +375,513 @@ public class StreamsUtils {
         AccumulatingEntriesSpliterator<K, V> spliterator = AccumulatingEntriesSpliterator.of(stream.spliterator(), operator);
         return StreamSupport.stream(spliterator, stream.isParallel()).onClose(stream::close);
     }
+
+    /**
+     * <p>Generates a stream from which the duplicates of the provided stream are removed, using a Bloom filter
+     * instead of the set of all the elements seen so far. The memory used is fixed by the expected number of
+     * distinct elements and the accepted false positive probability. </p>
+     * <p>No duplicate is ever returned, but some elements that appear only once may be wrongly removed, with
+     * a probability close to the provided false positive probability as long as the number of distinct elements
+     * stays below the expected size. </p>
+     * <p>The Bloom filter is shared between the threads of a parallel stream. In that case, the kept
+     * occurrence of an element is not necessarily the first one in the encounter order. </p>
+     * <p>Elements other than <code>String</code>s, <code>Integer</code>s and <code>Long</code>s are hashed on
+     * the 32 bits of their <code>hashCode()</code>, whose collisions raise the rate of wrongly removed elements
+     * above the false positive probability for large streams. The
+     * <code>distinctApprox(stream, expectedSize, falsePositiveProbability, hash)</code> method takes a 64 bits
+     * hash instead. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the provided stream is null. </p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if the expected size is lesser than 1 or the false
+     * positive probability not strictly between 0 and 1. </p>
+     *
+     * @param stream                   the processed stream
+     * @param expectedSize             the expected number of distinct elements
+     * @param falsePositiveProbability the accepted probability of wrongly removing an element
+     * @param <E>                      the type of the provided stream
+     * @return a stream with no duplicates
+     */
+    public static <E> Stream<E> distinctApprox(Stream<E> stream, long expectedSize, double falsePositiveProbability) {
+
+        Objects.requireNonNull(stream);
+
+        BloomFilter bloomFilter = new BloomFilter(expectedSize, falsePositiveProbability);
+        DistinctFilteringSpliterator<E> spliterator = DistinctFilteringSpliterator.of(stream.spliterator(), bloomFilter::put);
+        return StreamSupport.stream(spliterator, stream.isParallel()).onClose(stream::close);
+    }
+
+    /**
+     * <p>Generates a stream from which the duplicates of the provided stream are removed, using a Bloom filter
+     * fed with the provided 64 bits hash of the elements. See
+     * <code>distinctApprox(stream, expectedSize, falsePositiveProbability)</code> for the details. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the provided stream or hash function is null. </p>
+     *
+     * @param stream                   the processed stream
+     * @param expectedSize             the expected number of distinct elements
+     * @param falsePositiveProbability the accepted probability of wrongly removing an element
+     * @param hash                     the function that computes a 64 bits hash of an element
+     * @param <E>                      the type of the provided stream
+     * @return a stream with no duplicates
+     */
+    public static <E> Stream<E> distinctApprox(
+            Stream<E> stream, long expectedSize, double falsePositiveProbability, ToLongFunction<? super E> hash) {
+
+        Objects.requireNonNull(stream);
+        Objects.requireNonNull(hash);
+
+        BloomFilter bloomFilter = new BloomFilter(expectedSize, falsePositiveProbability);
+        DistinctFilteringSpliterator<E> spliterator =
+                DistinctFilteringSpliterator.of(stream.spliterator(), e -> bloomFilter.putHash(hash.applyAsLong(e)));
+        return StreamSupport.stream(spliterator, stream.isParallel()).onClose(stream::close);
+    }
+
+    /**
+     * <p>Generates a stream from which the duplicates of the provided stream are removed when they appear
+     * within a window of the last <code>windowSize</code> different elements seen. Duplicates are detected exactly
+     * within this window, and the memory used is bounded by the size of the window. </p>
+     * <p>For the stream <code>{a, b, a, c, d, a}</code> and a window of size 2, the following stream is
+     * returned: <code>{a, b, c, d, a}</code>.</p>
+     * <p>The returned stream is not split. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the provided stream is null. </p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if the window size is lesser than 1. </p>
+     *
+     * @param stream     the processed stream
+     * @param windowSize the number of most recently seen different elements remembered
+     * @param <E>        the type of the provided stream
+     * @return a stream with no duplicates within the window
+     */
+    public static <E> Stream<E> distinctWindow(Stream<E> stream, int windowSize) {
+
+        Objects.requireNonNull(stream);
+
+        DistinctFilteringSpliterator<E> spliterator = DistinctFilteringSpliterator.window(stream.spliterator(), windowSize);
+        return StreamSupport.stream(spliterator, stream.isParallel()).onClose(stream::close);
+    }
+
+    /**
+     * <p>Generates a stream composed of <code>sampleSize</code> elements drawn uniformly at random from the
+     * provided stream, which length does not need to be known. If the provided stream has less elements than
+     * <code>sampleSize</code>, all its elements are returned. </p>
+     * <p>The provided stream is consumed with a {@link Reservoir} on the first access to the returned stream.
+     * If the provided stream is parallel, it is sampled in parallel and the partial reservoirs are merged. </p>
+     * <p>The returned stream is not ordered. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the provided stream is null. </p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if the sample size is lesser than 1. </p>
+     *
+     * @param stream     the processed stream
+     * @param sampleSize the number of elements to draw
+     * @param <E>        the type of the provided stream
+     * @return a stream of the sampled elements
+     */
+    public static <E> Stream<E> sample(Stream<E> stream, int sampleSize) {
+
+        Objects.requireNonNull(stream);
+
+        SamplingSpliterator<E> spliterator = SamplingSpliterator.of(stream.spliterator(), sampleSize, stream.isParallel());
+        return StreamSupport.stream(spliterator, false).onClose(stream::close);
+    }
+
+    /**
+     * <p>Generates a sorted stream by merging streams that are already sorted with the provided comparator.
+     * The elements are pulled lazily from the provided streams, one at a time, so the merge of k streams uses
+     * a buffer of k elements. </p>
+     * <p>For the streams <code>{a, c, e}</code> and <code>{b, c, d}</code>, the following stream is returned:
+     * <code>{a, b, c, c, d, e}</code>. Equal elements are returned in the order of the provided streams.</p>
+     * <p>The returned stream is <code>SORTED</code> with the provided comparator. If one of the provided streams
+     * is not sorted with this comparator, the returned stream is not sorted either. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the comparator or one of the provided streams is
+     * null. </p>
+     *
+     * @param comparator the comparator the provided streams are sorted with
+     * @param streams    the merged streams
+     * @param <E>        the type of the provided streams
+     * @return a merged sorted stream
+     */
+    @SafeVarargs
+    public static <E> Stream<E> mergeSorted(Comparator<? super E> comparator, Stream<E>... streams) {
+
+        Objects.requireNonNull(comparator);
+        Objects.requireNonNull(streams);
+
+        List<Spliterator<E>> spliterators = new ArrayList<>(streams.length);
+        for (Stream<E> stream : streams) {
+            spliterators.add(Objects.requireNonNull(stream).spliterator());
+        }
+
+        MergingSortedSpliterator<E> spliterator = MergingSortedSpliterator.of(spliterators, comparator);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> {
+                    for (Stream<E> stream : streams) {
+                        stream.close();
+                    }
+                });
+    }
+
+    /**
+     * <p>Generates a stream with the elements of the provided stream sorted with the provided comparator, without
+     * holding more than <code>runSize</code> elements in memory. </p>
+     * <p>The provided stream is consumed on the first access to the returned stream, in runs of
+     * <code>runSize</code> elements. Each run is sorted in parallel and written to a temporary file with the
+     * provided codec. The run files are then memory mapped and merged back. If the provided stream has no more
+     * than <code>runSize</code> elements, nothing is written to disk. </p>
+     * <p>The run files are deleted once they have been read, or when the returned stream is closed, so this
+     * stream should be used in a try-with-resources block. </p>
+     * <p>The returned stream is <code>SORTED</code> with the provided comparator. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the provided stream, comparator or codec is null. </p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if the run size is lesser than 1. </p>
+     * <p>An <code>UncheckedIOException</code> is thrown if the run files cannot be written. </p>
+     *
+     * @param stream     the processed stream
+     * @param comparator the comparator used to sort the elements of the stream
+     * @param codec      the codec used to write the elements of the stream to disk
+     * @param runSize    the maximum number of elements sorted in memory
+     * @param <E>        the type of the provided stream
+     * @return a sorted stream
+     */
+    public static <E> Stream<E> sortedExternally(
+            Stream<E> stream, Comparator<? super E> comparator, ElementCodec<E> codec, int runSize) {
+
+        Objects.requireNonNull(stream);
+
+        ExternalSortSpliterator<E> spliterator = ExternalSortSpliterator.of(
+                stream.spliterator(), comparator, codec, runSize, Paths.get(System.getProperty("java.io.tmpdir")));
+        return StreamSupport.stream(spliterator, stream.isParallel()).onClose(spliterator::close).onClose(stream::close);
+    }
+
+    /**
+     * <p>Generates the inner join of two streams, as a stream of <code>Map.Entry&lt;B, P&gt;</code> elements. Each
+     * entry pairs an element of the build stream with an element of the probe stream that has an equal key. </p>
+     * <p>The build stream is consumed when this method is called, into an open-addressing hash table, so it should
+     * be the smaller of the two streams. The probe stream is then streamed, in parallel if it is parallel. Elements
+     * with a <code>null</code> key never match. </p>
+     * <p>For each probe element, the matching build elements are returned in the order of the build stream. </p>
+     * <pre>{@code
+     *     Stream<Map.Entry<City, CityPerson>> join =
+     *         StreamsUtils.hashJoin(cities, people, City::getName, CityPerson::getName);
+     * }</pre>
+     * <p>A <code>NullPointerException</code> will be thrown if one of the streams or key extractors is null. </p>
+     *
+     * @param build    the stream stored in the hash table
+     * @param probe    the stream looked up in the hash table
+     * @param buildKey the join key of the build stream
+     * @param probeKey the join key of the probe stream
+     * @param <B>      the type of the build stream
+     * @param <P>      the type of the probe stream
+     * @param <K>      the type of the join key
+     * @return the stream of the joined pairs
+     */
+    public static <B, P, K> Stream<Map.Entry<B, P>> hashJoin(
+            Stream<B> build, Stream<P> probe,
+            Function<? super B, ? extends K> buildKey, Function<? super P, ? extends K> probeKey) {
+
+        HashJoinTable<K, B> table = buildHashJoinTable(build, probe, buildKey, probeKey, false);
+
+        HashJoinSpliterator<P, Map.Entry<B, P>> spliterator = HashJoinSpliterator.of(
+                probe.spliterator(),
+                (p, action) -> table.forEachMatch(probeKey.apply(p), b -> action.accept(new AbstractMap.SimpleImmutableEntry<>(b, p))));
+        return StreamSupport.stream(spliterator, probe.isParallel()).onClose(build::close).onClose(probe::close);
+    }
+
+    /**
+     * <p>Generates the left outer join of two streams: the inner join as computed by
+     * {@link #hashJoin(Stream, Stream, Function, Function)}, plus an entry with a <code>null</code> key for each
+     * element of the probe stream that has no match in the build stream. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if one of the streams or key extractors is null. </p>
+     *
+     * @param build    the stream stored in the hash table
+     * @param probe    the stream looked up in the hash table, all its elements are returned
+     * @param buildKey the join key of the build stream
+     * @param probeKey the join key of the probe stream
+     * @param <B>      the type of the build stream
+     * @param <P>      the type of the probe stream
+     * @param <K>      the type of the join key
+     * @return the stream of the joined pairs
+     */
+    public static <B, P, K> Stream<Map.Entry<B, P>> leftHashJoin(
+            Stream<B> build, Stream<P> probe,
+            Function<? super B, ? extends K> buildKey, Function<? super P, ? extends K> probeKey) {
+
+        HashJoinTable<K, B> table = buildHashJoinTable(build, probe, buildKey, probeKey, false);
+
+        HashJoinSpliterator<P, Map.Entry<B, P>> spliterator = HashJoinSpliterator.of(
+                probe.spliterator(),
+                (p, action) -> {
+                    K key = probeKey.apply(p);
+                    if (table.contains(key)) {
+                        table.forEachMatch(key, b -> action.accept(new AbstractMap.SimpleImmutableEntry<>(b, p)));
+                    } else {
+                        action.accept(new AbstractMap.SimpleImmutableEntry<>(null, p));
+                    }
+                });
+        return StreamSupport.stream(spliterator, probe.isParallel()).onClose(build::close).onClose(probe::close);
+    }
+
+    /**
+     * <p>Generates the semi join of two streams: the elements of the probe stream that have at least one match
+     * in the build stream, each returned once. Only one element per key of the build stream is kept in memory. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if one of the streams or key extractors is null. </p>
+     *
+     * @param build    the stream which keys are stored in the hash table
+     * @param probe    the filtered stream
+     * @param buildKey the join key of the build stream
+     * @param probeKey the join key of the probe stream
+     * @param <B>      the type of the build stream
+     * @param <P>      the type of the probe stream
+     * @param <K>      the type of the join key
+     * @return the filtered probe stream
+     */
+    public static <B, P, K> Stream<P> semiHashJoin(
+            Stream<B> build, Stream<P> probe,
+            Function<? super B, ? extends K> buildKey, Function<? super P, ? extends K> probeKey) {
+
+        HashJoinTable<K, B> table = buildHashJoinTable(build, probe, buildKey, probeKey, true);
+
+        return probe.filter(p -> table.contains(probeKey.apply(p))).onClose(build::close);
+    }
+
+    private static <B, P, K> HashJoinTable<K, B> buildHashJoinTable(
+            Stream<B> build, Stream<P> probe,
+            Function<? super B, ? extends K> buildKey, Function<? super P, ? extends K> probeKey, boolean keysOnly) {
+
+        Objects.requireNonNull(build);
+        Objects.requireNonNull(probe);
+        Objects.requireNonNull(buildKey);
+        Objects.requireNonNull(probeKey);
+
+        HashJoinTable<K, B> table = new HashJoinTable<>(buildKey, keysOnly);
+        build.forEachOrdered(table::add);
+        return table;
+    }
+
+    /**
+     * <p>Generates the inner join of two streams sorted on their join keys, as a stream of
+     * <code>Map.Entry&lt;L, R&gt;</code> elements. Each entry pairs an element of the left stream with an element of
+     * the right stream that has an equal key, according to the provided comparator. </p>
+     * <p>Both streams are walked in lockstep, and only the elements of the right stream that share the current
+     * key are buffered, so this join uses much less memory than
+     * {@link #hashJoin(Stream, Stream, Function, Function)} when its inputs are already sorted. </p>
+     * <p>For the left stream <code>{1, 2, 2, 4}</code> and the right stream <code>{2, 2, 3, 4}</code>, joined on
+     * the elements themselves, the following pairs are returned:
+     * <code>{(2, 2), (2, 2), (2, 2), (2, 2), (4, 4)}</code>.</p>
+     * <p>A <code>NullPointerException</code> will be thrown if one of the streams, key extractors or the comparator
+     * is null. </p>
+     * <p>A <code>IllegalArgumentException</code> will be thrown if one of the provided streams is not ordered. </p>
+     * <p>A <code>IllegalStateException</code> will be thrown while consuming the returned stream if a key of one
+     * of the provided streams is lesser than the previous one. </p>
+     *
+     * @param left       the left stream, sorted on its join key
+     * @param right      the right stream, sorted on its join key
+     * @param leftKey    the join key of the left stream
+     * @param rightKey   the join key of the right stream
+     * @param comparator the comparator both streams are sorted with on their join keys
+     * @param <L>        the type of the left stream
+     * @param <R>        the type of the right stream
+     * @param <K>        the type of the join key
+     * @return the stream of the joined pairs
+     */
+    public static <L, R, K> Stream<Map.Entry<L, R>> mergeJoin(
+            Stream<L> left, Stream<R> right,
+            Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey,
+            Comparator<? super K> comparator) {
+
+        Objects.requireNonNull(left);
+        Objects.requireNonNull(right);
+
+        SortMergeJoinSpliterator<L, R, K> spliterator = SortMergeJoinSpliterator.of(
+                left.spliterator(), right.spliterator(), leftKey, rightKey, comparator);
+        return StreamSupport.stream(spliterator, false).onClose(left::close).onClose(right::close);
+    }
+
+    /**
+     * <p>Generates the inner join of two streams sorted on their join keys, compared using their natural order.
+     * This method calls <code>mergeJoin()</code> with the natural order comparator, please refer to this javadoc
+     * for details. </p>
+     *
+     * @param left     the left stream, sorted on its join key
+     * @param right    the right stream, sorted on its join key
+     * @param leftKey  the join key of the left stream
+     * @param rightKey the join key of the right stream
+     * @param <L>      the type of the left stream
+     * @param <R>      the type of the right stream
+     * @param <K>      the type of the join key
+     * @return the stream of the joined pairs
+     */
+    public static <L, R, K extends Comparable<? super K>> Stream<Map.Entry<L, R>> mergeJoin(
+            Stream<L> left, Stream<R> right,
+            Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey) {
+
+        return mergeJoin(left, right, leftKey, rightKey, Comparator.naturalOrder());
+    }
+
+    /**
+     * <p>Generates a stream of the lines of the file, read as UTF-8. This method calls
+     * <code>lines(path, charset)</code>, please refer to this javadoc for details. </p>
+     *
+     * @param path the path of the file
+     * @return the stream of the lines of the file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static Stream<String> lines(Path path) throws IOException {
+
+        return lines(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * <p>Generates a stream of the lines of the file, as <code>Files.lines()</code> does, from a memory mapping
+     * of this file. </p>
+     * <p>The returned stream splits well in parallel: a split cuts the remaining bytes at the first line break
+     * after their middle, without reading the lines in between, so that the file is read by as many threads as
+     * the stream has. A line is only decoded by the thread that consumes it. The number of lines is estimated
+     * from the size of the file. </p>
+     * <p>A line ends with a line feed, or a carriage return followed by a line feed, that are not part of the
+     * line. The charset should encode a line feed as a single 0x0A byte, as UTF-8, US-ASCII or ISO-8859-1 do. </p>
+     * <pre>{@code
+     *     long errors = StreamsUtils.lines(path).parallel().filter(line -> line.contains("ERROR")).count();
+     * }</pre>
+     * <p>A <code>NullPointerException</code> will be thrown if the provided path or charset is null.</p>
+     * <p>An <code>IllegalArgumentException</code> is thrown if the charset does not encode a line feed as
+     * a single byte. </p>
+     *
+     * @param path    the path of the file
+     * @param charset the charset used to decode the lines
+     * @return the stream of the lines of the file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static Stream<String> lines(Path path, Charset charset) throws IOException {
+        MappedLinesSpliterator.LineDecoder<String> decoder = MappedLinesSpliterator.LineDecoder.ofStrings(charset);
+
+        MappedLinesSpliterator<String> spliterator = MappedLinesSpliterator.of(MappedFile.map(path), decoder);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * <p>Generates a stream of the elements of the provided stream, sorted on a key compared with its natural
+     * order. This method calls <code>sortedByKey(stream, key, comparator)</code>, please refer to this javadoc
+     * for details. </p>
+     *
+     * @param stream the stream to sort
+     * @param key    the function that computes the key of an element, called once per element
+     * @param <E>    the type of the provided stream
+     * @param <K>    the type of the key
+     * @return the sorted stream
+     */
+    public static <E, K extends Comparable<? super K>> Stream<E> sortedByKey(
+            Stream<E> stream, Function<? super E, ? extends K> key) {
+
+        return sortedByKey(stream, key, Comparator.naturalOrder());
+    }
+
+    /**
+     * <p>Generates a stream of the elements of the provided stream, sorted on a key, as
+     * <code>stream.sorted(Comparator.comparing(key, comparator))</code> does, but calling the key function once
+     * per element instead of twice per comparison. </p>
+     * <p>The keys are extracted in a first pass, then the elements are sorted on these keys. The sort is stable,
+     * and is done in parallel if the provided stream is parallel. Nothing is done until the returned stream
+     * is consumed. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the provided stream, key or comparator is null.</p>
+     *
+     * @param stream     the stream to sort
+     * @param key        the function that computes the key of an element, called once per element
+     * @param comparator the comparator of the keys
+     * @param <E>        the type of the provided stream
+     * @param <K>        the type of the key
+     * @return the sorted stream
+     */
+    public static <E, K> Stream<E> sortedByKey(
+            Stream<E> stream, Function<? super E, ? extends K> key, Comparator<? super K> comparator) {
+        Objects.requireNonNull(stream);
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(comparator);
+
+        boolean parallel = stream.isParallel();
+        return sortedStream(stream, array -> Sorting.sortByKey(array, key, comparator, parallel));
+    }
+
+    /**
+     * <p>Generates a stream of the elements of the provided stream, sorted on an <code>int</code> key. Large
+     * streams are sorted with a stable radix sort on the keys, in a time linear in their size; small ones pack
+     * each key with the index of its element in a <code>long</code>, and sort these <code>long</code>s. See
+     * <code>sortedByKey(stream, key, comparator)</code> for details. </p>
+     *
+     * @param stream the stream to sort
+     * @param key    the function that computes the key of an element, called once per element
+     * @param <E>    the type of the provided stream
+     * @return the sorted stream
+     */
+    public static <E> Stream<E> sortedByIntKey(Stream<E> stream, ToIntFunction<? super E> key) {
+        Objects.requireNonNull(stream);
+        Objects.requireNonNull(key);
+
+        boolean parallel = stream.isParallel();
+        return sortedStream(stream, array -> Sorting.sortByIntKey(array, key, parallel));
+    }
+
+    /**
+     * <p>Generates a stream of the elements of the provided stream, sorted on a <code>long</code> key. Large
+     * streams are sorted with a stable radix sort on the keys. See <code>sortedByKey(stream, key, comparator)</code>
+     * for details. </p>
+     *
+     * @param stream the stream to sort
+     * @param key    the function that computes the key of an element, called once per element
+     * @param <E>    the type of the provided stream
+     * @return the sorted stream
+     */
+    public static <E> Stream<E> sortedByLongKey(Stream<E> stream, ToLongFunction<? super E> key) {
+        Objects.requireNonNull(stream);
+        Objects.requireNonNull(key);
+
+        boolean parallel = stream.isParallel();
+        return sortedStream(stream, array -> Sorting.sortByLongKey(array, key, parallel));
+    }
+
+    /**
+     * <p>Generates a stream of the elements of the provided stream, sorted on a <code>double</code> key, in the
+     * order of <code>Double.compare()</code>. See <code>sortedByKey(stream, key, comparator)</code> for
+     * details. </p>
+     *
+     * @param stream the stream to sort
+     * @param key    the function that computes the key of an element, called once per element
+     * @param <E>    the type of the provided stream
+     * @return the sorted stream
+     */
+    public static <E> Stream<E> sortedByDoubleKey(Stream<E> stream, ToDoubleFunction<? super E> key) {
+        Objects.requireNonNull(stream);
+        Objects.requireNonNull(key);
+
+        boolean parallel = stream.isParallel();
+        return sortedStream(stream, array -> Sorting.sortByDoubleKey(array, key, parallel));
+    }
+
+    /**
+     * <p>Generates a stream of the elements of the provided stream, sorted with a
+     * <code>com.ip.utils.Comparator</code>. The comparators returned by <code>comparingInt()</code> and
+     * <code>comparingLong()</code>, reversed or not, sort with a radix sort on their key, the others with a
+     * comparison sort. The sort is stable, and happens when the returned stream is consumed. </p>
+     * <p>A <code>NullPointerException</code> will be thrown if the provided stream or the comparator is null.</p>
+     *
+     * @param stream     the stream to sort
+     * @param comparator the comparator
+     * @param <E>        the type of the provided stream
+     * @return the sorted stream
+     */
+    public static <E> Stream<E> sorted(Stream<E> stream, com.ip.utils.Comparator<? super E> comparator) {
+        Objects.requireNonNull(stream);
+        Objects.requireNonNull(comparator);
+
+        boolean parallel = stream.isParallel();
+        return sortedStream(stream, array -> Sorting.sort(array, comparator, parallel));
+    }
+
+    /**
+     * Sorts the elements of the stream with the provided sort when the returned stream is consumed.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Stream<E> sortedStream(Stream<E> stream, Consumer<E[]> sort) {
+        Supplier<Spliterator<E>> sorted = () -> {
+            E[] array = (E[]) stream.toArray();
+            sort.accept(array);
+            return Arrays.spliterator(array);
+        };
+        int characteristics = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        return StreamSupport.stream(sorted, characteristics, stream.isParallel()).onClose(stream::close);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Helpers to write compact binary records in a <code>ByteBuffer</code>, used by the codecs of the model
+ * classes. </p>
+ * <p>An int is written as a varint: 7 bits per byte, low bits first, the high bit of a byte telling if another
+ * byte follows. Small positive values take one byte, and a negative value takes 5 bytes, unless it is zig-zag
+ * encoded first. A string is written as a varint of its number of UTF-8 bytes plus one, followed by these bytes,
+ * so that <code>null</code> can be written as a single zero byte. </p>
+ * <p>The relative methods move the position of the buffer, the methods that take an index do not, so that
+ * a record can be read in place, without copying it. </p>
+ */
+public final class Varints {
+
+    private static final int MAX_VARINT_SIZE = 5;
+
+    private Varints() {
+    }
+
+    public static int sizeOf(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    public static void putInt(int value, ByteBuffer buffer) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int getInt(ByteBuffer buffer) {
+        int value = getInt(buffer, buffer.position());
+        buffer.position(buffer.position() + sizeOf(value));
+        return value;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes at this index are not a varint
+     */
+    public static int getInt(ByteBuffer buffer, int index) {
+        int value = 0;
+        for (int i = 0; i < MAX_VARINT_SIZE; i++) {
+            byte b = buffer.get(index + i);
+            value |= (b & 0x7F) << (7 * i);
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint at index " + index);
+    }
+
+    /**
+     * Maps the signed ints to unsigned ones, small negative values staying small: 0, -1, 1, -2... become
+     * 0, 1, 2, 3...
+     */
+    public static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    public static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static int sizeOf(String s) {
+        if (s == null) {
+            return 1;
+        }
+        int length = ElementCodec.utf8Length(s);
+        return sizeOf(length + 1) + length;
+    }
+
+    public static void putString(String s, ByteBuffer buffer) {
+        if (s == null) {
+            putInt(0, buffer);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length + 1, buffer);
+        buffer.put(bytes);
+    }
+
+    public static String getString(ByteBuffer buffer) {
+        int index = buffer.position();
+        String s = getString(buffer, index);
+        buffer.position(skipString(buffer, index));
+        return s;
+    }
+
+    public static String getString(ByteBuffer buffer, int index) {
+        int prefix = getInt(buffer, index);
+        if (prefix == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[prefix - 1];
+        ByteBuffer reader = buffer.duplicate();
+        reader.position(index + sizeOf(prefix));
+        reader.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the index that follows the string written at the provided index
+     */
+    public static int skipString(ByteBuffer buffer, int index) {
+        int prefix = getInt(buffer, index);
+        return index + sizeOf(prefix) + Math.max(prefix - 1, 0);
+    }
+
+    /**
+     * Compares the string written at the provided index with the provided string, without decoding it.
+     */
+    public static boolean stringEquals(ByteBuffer buffer, int index, String s) {
+        int prefix = getInt(buffer, index);
+        if (prefix == 0 || s == null) {
+            return prefix == 0 && s == null;
+        }
+        int length = prefix - 1;
+        if (length != ElementCodec.utf8Length(s)) {
+            return false;
+        }
+        int start = index + sizeOf(prefix);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                // the string is not ASCII, it is encoded to compare it
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                for (int j = i; j < length; j++) {
+                    if (buffer.get(start + j) != bytes[j]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (buffer.get(start + i) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
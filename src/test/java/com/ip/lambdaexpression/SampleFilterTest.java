@@ -42,4 +42,13 @@ private SampleFilter samplefilter = null;
 
 
 	}
+
+	/**
+	 * check even numbers of an int array.
+	 */
+	@Test
+	public void checkEvenInts() {
+			int[] actual = SampleFilter.findOutEvenNum(new int[]{1, 2, 1, 2, -4, 2});
+			Assert.assertEquals(actual, new int[]{2, 2, -4, 2});
+	}
 }
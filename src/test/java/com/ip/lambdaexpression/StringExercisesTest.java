@@ -2,7 +2,10 @@ package com.ip.lambdaexpression;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -38,7 +41,7 @@ Assert.assertEquals(0, com.ip.lambdaexpression.StringExercises
 /**
 *
 **/
-//@Test
+@Test
 public void noStringReturnedForEmptyList() {
 Assert.assertFalse(com.ip.lambdaexpression
 .StringExercises.mostLowercaseString(Collections
@@ -48,10 +51,47 @@ Assert.assertFalse(com.ip.lambdaexpression
 /**
 *
 */
-//@Test
+@Test
 public void findsMostLowercaseString() {
 Optional<String> result = StringExercises.mostLowercaseString(Arrays
 .asList("a", "abc", "ABCde"));
 Assert.assertEquals(Optional.of("abc"), result);
 }
+
+/**
+*
+*/
+@Test
+public void countsLatin1AndOtherLowercaseLetters() {
+String string = "\u00e9t\u00c9 \u03b1\u0391 \u00df1";
+Assert.assertEquals(StringExercises.countLowercaseLetters(string), 4);
+Assert.assertEquals(StringExercises.countLowercaseLetters(string),
+string.chars().filter(Character::isLowerCase).count());
+}
+
+/**
+*
+*/
+@Test
+public void countsLowercaseLettersOfEachString() {
+List<String> strings = IntStream.range(0, 10_000)
+.mapToObj(i -> i % 3 == 0 ? "Ab" + i : "abc")
+.collect(Collectors.toList());
+int[] counts = StringExercises.countLowercaseLetters(strings);
+Assert.assertEquals(counts.length, 10_000);
+for (int i = 0; i < counts.length; i++) {
+Assert.assertEquals(counts[i], i % 3 == 0 ? 1 : 3);
+}
+}
+
+/**
+*
+*/
+@Test
+public void findsTheFirstMostLowercaseString() {
+Assert.assertEquals(StringExercises.indexOfMax(new int[]{1, 4, 2, 4}), 1);
+Assert.assertEquals(StringExercises.indexOfMax(new int[0]), -1);
+Assert.assertEquals(StringExercises.mostLowercaseString(Arrays
+.asList("ab", "cd", "e")), Optional.of("ab"));
+}
 }
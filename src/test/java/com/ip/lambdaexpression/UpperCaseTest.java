@@ -2,6 +2,9 @@ package com.ip.lambdaexpression;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.testng.Assert;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
@@ -32,4 +35,51 @@ public void multipleWordsToUppercase() {
     Assert.assertEquals(expected, actual);
     //System.out.println(actual);
 }
+
+/**
+ *Already uppercase words are not copied.
+ */
+@Test
+public void uppercaseWordsAreKept() {
+    String word = "HELLO, 42!";
+    Assert.assertSame(UpperCase.toUpperCase(word, Locale.ENGLISH), word);
+    Assert.assertSame(UpperCase.toUpperCase(word, new Locale("tr")), word);
+}
+
+/**
+ *ASCII and other words convert as String.toUpperCase does.
+ */
+@Test
+public void wordsConvertAsStringToUpperCase() {
+    List<String> words = Arrays.asList("hello", "Hello World", "stra\u00dfe", "\u00e9t\u00e9", "i", "");
+    for (String word : words) {
+        Assert.assertEquals(UpperCase.toUpperCase(word, Locale.ENGLISH), word.toUpperCase(Locale.ENGLISH));
+        Assert.assertEquals(UpperCase.toUpperCase(word, new Locale("tr")), word.toUpperCase(new Locale("tr")));
+    }
+    Assert.assertEquals(UpperCase.toUpperCase("i", new Locale("tr")), "\u0130");
+}
+
+/**
+ *Large lists convert in parallel into the provided array.
+ */
+@Test
+public void manyWordsToUppercaseInAnOutputArray() {
+    List<String> input = IntStream.range(0, 100_000)
+            .mapToObj(i -> i % 2 == 0 ? "word" + i : "WORD" + i)
+            .collect(Collectors.toList());
+    String[] output = new String[input.size() + 1];
+    Assert.assertSame(upperCase.allToUpperCase(input, output), output);
+    for (int i = 0; i < input.size(); i++) {
+        Assert.assertEquals(output[i], "WORD" + i);
+    }
+    Assert.assertNull(output[input.size()]);
+}
+
+/**
+ *The output array must hold all the words.
+ */
+@Test(expectedExceptions = IllegalArgumentException.class)
+public void outputArrayIsTooShort() {
+    upperCase.allToUpperCase(Arrays.asList("a", "b"), new String[1]);
+}
 }
@@ -0,0 +1,72 @@
+package com.ip.model;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+public class CityTest {
+
+    @Test
+    public void should_find_a_map_entry_with_an_equal_city() {
+        // Given
+        Map<City, List<CityPerson>> map = new HashMap<>();
+        map.put(new City("Paris"), Arrays.asList(new CityPerson("Alice", 23)));
+
+        // When
+        List<CityPerson> people = map.get(new City("Paris"));
+
+        // Then
+        Assert.assertNotNull(people);
+        Assert.assertEquals(people.get(0).getName(), "Alice");
+        Assert.assertNotEquals(new City("Paris"), new City("Shanghai"));
+    }
+
+    @Test
+    public void should_share_one_instance_between_duplicate_cities() {
+        // Given
+        City paris = City.of("Paris");
+
+        // When
+        City parsed = new City(new String("Paris".toCharArray()));
+
+        // Then
+        Assert.assertSame(City.of("Paris"), paris);
+        Assert.assertSame(parsed.intern(), paris);
+        Assert.assertNotSame(parsed, paris);
+        Assert.assertEquals(parsed, paris);
+    }
+
+    @Test
+    public void should_give_the_same_instance_to_concurrent_callers() {
+        // When
+        List<City> cities = IntStream.range(0, 10_000).parallel()
+                .mapToObj(i -> City.of("city" + (i % 10)))
+                .collect(toList());
+
+        // Then
+        for (int i = 0; i < cities.size(); i++) {
+            Assert.assertSame(cities.get(i), cities.get(i % 10));
+        }
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void should_not_build_a_city_without_a_name() {
+        City.of(null);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ip.model;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+public class PersonTableTest {
+
+    private static final List<Person> PERSONS = Arrays.asList(
+            new Person("anu", "jena", 22), new Person("dipa", "rasmi", 19),
+            new Person("pratap", "sahu", 27), new Person("anu", "sahu", 31), new Person(null, null, 25));
+
+    @Test
+    public void should_give_back_the_persons_it_stores() {
+        // Given
+        PersonTable table = PersonTable.of(PERSONS);
+
+        // When
+        List<String> persons = table.stream().map(Person::toString).collect(toList());
+
+        // Then
+        Assert.assertEquals(table.size(), 5);
+        Assert.assertEquals(persons, PERSONS.stream().map(Person::toString).collect(toList()));
+    }
+
+    @Test
+    public void should_select_the_persons_by_age_and_name() {
+        // Given
+        PersonTable table = PersonTable.of(PERSONS);
+
+        // When
+        BitSet selection = table.selectAgeBetween(20, 30);
+        selection.and(table.selectLastName("sahu"));
+        List<String> names = table.stream(selection).map(Person::getFirstName).collect(toList());
+
+        // Then
+        Assert.assertEquals(table.selectAgeBetween(20, 30), BitSet.valueOf(new long[]{0b10101}));
+        Assert.assertEquals(names, Arrays.asList("pratap"));
+        Assert.assertTrue(table.selectFirstName("unknown").isEmpty());
+        Assert.assertEquals(table.selectFirstName(null).cardinality(), 1);
+    }
+
+    @Test
+    public void should_select_ages_between_extreme_bounds() {
+        // Given
+        PersonTable table = PersonTable.of(Arrays.asList(
+                new Person("a", "b", Integer.MIN_VALUE), new Person("c", "d", -1), new Person("e", "f", Integer.MAX_VALUE)));
+
+        // Then
+        Assert.assertEquals(table.selectAgeBetween(Integer.MIN_VALUE, Integer.MAX_VALUE).cardinality(), 3);
+        Assert.assertEquals(table.selectAgeBetween(0, Integer.MAX_VALUE), table.selectAge(age -> age >= 0));
+        Assert.assertEquals(table.selectAgeBetween(Integer.MIN_VALUE, -1), table.selectAge(age -> age < 0));
+        Assert.assertTrue(table.selectAgeBetween(1, 0).isEmpty());
+    }
+
+    @Test
+    public void should_aggregate_the_selected_rows() {
+        // Given
+        PersonTable table = PersonTable.of(PERSONS);
+
+        // When
+        BitSet adults = table.selectAge(age -> age >= 20);
+        Map<String, Long> counts = table.countByLastName(adults);
+
+        // Then
+        Assert.assertEquals(table.ageStatistics(adults).getSum(), 22L + 27L + 31L + 25L);
+        Assert.assertEquals(table.ageStatistics().getMin(), 19);
+        Assert.assertEquals(counts.get("sahu"), Long.valueOf(2L));
+        Assert.assertEquals(counts.get("jena"), Long.valueOf(1L));
+        Assert.assertFalse(counts.containsKey("rasmi"));
+        Assert.assertEquals(counts.get(null), Long.valueOf(1L));
+    }
+
+    @Test
+    public void should_collect_a_parallel_stream_in_order() {
+        // Given
+        List<Person> persons = IntStream.range(0, 10_000)
+                .mapToObj(i -> new Person("first" + (i % 7), "last" + (i % 13), i % 100))
+                .collect(toList());
+
+        // When
+        PersonTable table = persons.parallelStream().collect(PersonTable.collector());
+
+        // Then
+        Assert.assertEquals(table.stream().map(Person::toString).collect(toList()),
+                persons.stream().map(Person::toString).collect(toList()));
+        Assert.assertEquals(table.selectFirstName("first3").cardinality(), persons.stream().filter(p -> p.getFirstName().equals("first3")).count());
+    }
+}
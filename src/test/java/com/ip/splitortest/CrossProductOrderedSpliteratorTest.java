@@ -0,0 +1,157 @@
+package com.ip.splitortest;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.splitors.CrossProductOrderedSpliterator;
+import com.ip.splitors.SpillingElementBuffer;
+import com.ip.utils.ElementCodec;
+import com.ip.utils.StreamsUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toList;
+
+public class CrossProductOrderedSpliteratorTest {
+
+    @Test
+    public void should_cross_an_empty_stream_into_an_empty_stream() {
+        // Given
+        Stream<String> strings = Stream.empty();
+
+        // When
+        long count = StreamsUtils.crossProduct(strings).count();
+
+        // Then
+        Assert.assertEquals(count, 0L);
+    }
+
+    @Test
+    public void should_cross_a_stream_with_itself() {
+        // Given
+        Stream<String> strings = Stream.of("a", "b", "c");
+
+        // When
+        List<String> list = StreamsUtils.crossProduct(strings)
+                .map(entry -> entry.getKey() + entry.getValue())
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(list, Arrays.asList("aa", "ba", "ab", "bb", "ca", "ac", "cb", "bc", "cc"));
+    }
+
+    @Test
+    public void should_cross_a_stream_in_order_without_doubles() {
+        // Given
+        Stream<String> strings = Stream.of("b", "a", "c");
+
+        // When
+        List<String> list = StreamsUtils.crossProductNaturallyOrdered(strings)
+                .map(entry -> entry.getKey() + entry.getValue())
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(list, Arrays.asList("ab", "bc", "ac"));
+    }
+
+    @Test
+    public void should_cross_a_spilled_stream_like_an_on_heap_stream() {
+        // When
+        List<Map.Entry<Integer, Integer>> onHeap = StreamsUtils.crossProduct(IntStream.range(0, 100).boxed())
+                .collect(toList());
+        List<Map.Entry<Integer, Integer>> spilled = StreamsUtils.crossProduct(IntStream.range(0, 100).boxed(), ElementCodec.ofIntegers(), 7)
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(spilled, onHeap);
+    }
+
+    @Test
+    public void should_delete_the_spill_file_once_the_product_has_been_consumed() throws IOException {
+        // Given
+        Path directory = Files.createTempDirectory("cross-product-test");
+        SpillingElementBuffer<String> buffer = SpillingElementBuffer.of(ElementCodec.ofStrings(), 2, directory);
+        CrossProductOrderedSpliterator<String> spliterator =
+                CrossProductOrderedSpliterator.of(Arrays.asList("a", "b", "c", "d", "e").spliterator(), buffer);
+
+        // When
+        List<Map.Entry<String, String>> list = StreamSupport.stream(spliterator, false).collect(toList());
+
+        // Then
+        Assert.assertEquals(list.size(), 25);
+        try (Stream<Path> files = Files.list(directory)) {
+            Assert.assertEquals(files.count(), 0L);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void should_replay_many_spills_read_while_the_buffer_grows() throws IOException {
+        // Given
+        Path directory = Files.createTempDirectory("spilling-buffer-test");
+        SpillingElementBuffer<String> buffer = SpillingElementBuffer.of(ElementCodec.ofStrings(), 3, directory);
+        List<String> expected = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            buffer.add("s" + i);
+            expected.add("s" + i);
+            if (i % 1_000 == 0) {
+                // Then
+                List<String> read = new ArrayList<>();
+                buffer.forEach(read::add);
+                Assert.assertEquals(read, expected);
+            }
+        }
+        List<String> read = new ArrayList<>();
+        buffer.iterator().forEachRemaining(read::add);
+        buffer.close();
+
+        // Then
+        Assert.assertEquals(read, expected);
+        Files.delete(directory);
+    }
+
+    @Test
+    public void should_read_again_a_buffer_which_window_was_cut_after_it_was_read() throws IOException {
+        // Given
+        Path directory = Files.createTempDirectory("spilling-buffer-test");
+        // each string takes 6 bytes: a window holds two of them
+        SpillingElementBuffer<String> buffer = SpillingElementBuffer.of(ElementCodec.ofStrings(), 1, directory, 16L);
+        buffer.add("s0");
+        List<String> first = new ArrayList<>();
+        buffer.forEach(first::add);
+
+        // When
+        buffer.add("s1");
+        buffer.add("s2");
+        List<String> read = new ArrayList<>();
+        buffer.forEach(read::add);
+        List<String> iterated = new ArrayList<>();
+        buffer.iterator().forEachRemaining(iterated::add);
+        buffer.close();
+
+        // Then
+        Assert.assertEquals(first, Arrays.asList("s0"));
+        Assert.assertEquals(read, Arrays.asList("s0", "s1", "s2"));
+        Assert.assertEquals(iterated, Arrays.asList("s0", "s1", "s2"));
+        Files.delete(directory);
+    }
+}
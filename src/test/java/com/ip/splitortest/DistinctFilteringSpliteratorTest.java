@@ -0,0 +1,155 @@
+package com.ip.splitortest;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.utils.BloomFilter;
+import com.ip.utils.StreamsUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+public class DistinctFilteringSpliteratorTest {
+
+    @Test
+    public void should_remove_the_duplicates_of_a_stream_with_a_bloom_filter() {
+        // Given
+        Stream<String> strings = Stream.of("one", "two", "one", "three", "two", "one");
+
+        // When
+        List<String> list = StreamsUtils.distinctApprox(strings, 100, 0.01d).collect(toList());
+
+        // Then
+        Assert.assertEquals(list, Arrays.asList("one", "two", "three"));
+    }
+
+    @Test
+    public void should_keep_almost_all_the_distinct_elements_of_a_parallel_stream() {
+        // Given
+        Stream<Integer> integers = IntStream.range(0, 100_000).map(i -> i % 50_000).boxed().parallel();
+
+        // When
+        long count = StreamsUtils.distinctApprox(integers, 50_000, 0.01d).count();
+
+        // Then
+        Assert.assertTrue(count <= 50_000L && count > 49_000L, "count = " + count);
+    }
+
+    @Test
+    public void should_never_return_a_duplicate_of_a_parallel_stream_of_repeated_elements() {
+        // Given
+        Stream<String> strings = IntStream.range(0, 200_000).mapToObj(i -> "s" + (i % 20)).parallel();
+
+        // When
+        List<String> list = StreamsUtils.distinctApprox(strings, 20, 0.01d).collect(toList());
+
+        // Then
+        Assert.assertEquals(new HashSet<>(list).size(), list.size());
+    }
+
+    @Test
+    public void should_tell_a_single_thread_that_an_element_is_new() throws InterruptedException {
+        // Given
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01d);
+        AtomicInteger firstSeen = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = IntStream.range(0, 4).mapToObj(t -> new Thread(() -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (long hash = 0; hash < 10_000; hash++) {
+                if (bloomFilter.putHash(hash * 0x9E37_79B9_7F4A_7C15L)) {
+                    firstSeen.incrementAndGet();
+                }
+            }
+        })).collect(toList());
+        threads.forEach(Thread::start);
+
+        // When
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        Assert.assertTrue(firstSeen.get() <= 10_000, "firstSeen = " + firstSeen.get());
+    }
+
+    @Test
+    public void should_remove_the_duplicates_with_a_provided_64_bits_hash() {
+        // Given
+        Stream<String> strings = Stream.of("one", "two", "one", "three");
+
+        // When
+        List<String> list = StreamsUtils.distinctApprox(strings, 100, 0.01d, s -> s.hashCode() * 0x9E37_79B9_7F4A_7C15L).collect(toList());
+
+        // Then
+        Assert.assertEquals(list, Arrays.asList("one", "two", "three"));
+    }
+
+    @Test
+    public void should_report_a_bloom_filtered_stream_as_distinct() {
+        // Given
+        Stream<String> strings = Stream.of("one", "two");
+
+        // When
+        Spliterator<String> spliterator = StreamsUtils.distinctApprox(strings, 10, 0.01d).spliterator();
+
+        // Then
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.DISTINCT));
+    }
+
+    @Test
+    public void should_only_remove_the_duplicates_seen_in_the_window() {
+        // Given
+        Stream<String> strings = Stream.of("a", "b", "a", "c", "d", "a");
+
+        // When
+        List<String> list = StreamsUtils.distinctWindow(strings, 2).collect(toList());
+
+        // Then
+        Assert.assertEquals(list, Arrays.asList("a", "b", "c", "d", "a"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void should_not_build_a_distinct_window_stream_with_an_empty_window() {
+        StreamsUtils.distinctWindow(Stream.of("a"), 0);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void should_not_build_a_distinct_stream_on_a_null_stream() {
+        StreamsUtils.distinctApprox(null, 10, 0.01d);
+    }
+
+    @Test
+    public void should_correctly_call_the_onClose_callbacks_of_the_underlying_streams() {
+        // Given
+        AtomicBoolean b = new AtomicBoolean(false);
+        Stream<String> strings = Stream.of("one", "one").onClose(() -> b.set(true));
+
+        // When
+        StreamsUtils.distinctApprox(strings, 10, 0.01d).close();
+
+        // Then
+        Assert.assertTrue(b.get());
+    }
+}
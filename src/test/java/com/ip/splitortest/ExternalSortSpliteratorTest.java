@@ -0,0 +1,147 @@
+package com.ip.splitortest;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.splitors.ExternalSortSpliterator;
+import com.ip.utils.ElementCodec;
+import com.ip.utils.StreamsUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toList;
+
+public class ExternalSortSpliteratorTest {
+
+    @Test
+    public void should_sort_an_empty_stream_into_an_empty_stream() {
+        // Given
+        Stream<String> strings = Stream.empty();
+
+        // When
+        long count = StreamsUtils.sortedExternally(strings, Comparator.naturalOrder(), ElementCodec.ofStrings(), 10).count();
+
+        // Then
+        Assert.assertEquals(count, 0L);
+    }
+
+    @Test
+    public void should_sort_a_stream_that_fits_in_a_single_run() {
+        // Given
+        Stream<String> strings = Stream.of("c", "a", "b");
+
+        // When
+        List<String> list = StreamsUtils.sortedExternally(strings, Comparator.naturalOrder(), ElementCodec.ofStrings(), 10)
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(list, Arrays.asList("a", "b", "c"));
+    }
+
+    @Test
+    public void should_sort_a_stream_spilled_in_several_runs_and_delete_the_runs() throws IOException {
+        // Given
+        Path directory = Files.createTempDirectory("external-sort-test");
+        List<Long> longs = new Random(27L).longs(10_000L).boxed().collect(toList());
+        ExternalSortSpliterator<Long> spliterator = ExternalSortSpliterator.of(
+                longs.spliterator(), Comparator.naturalOrder(), ElementCodec.ofLongs(), 1_000, directory);
+
+        // When
+        List<Long> sorted = StreamSupport.stream(spliterator, false).collect(toList());
+
+        // Then
+        longs.sort(Comparator.naturalOrder());
+        Assert.assertEquals(sorted, longs);
+        try (Stream<Path> files = Files.list(directory)) {
+            Assert.assertEquals(files.count(), 0L);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void should_not_write_a_stream_of_exactly_run_size_elements_to_disk() throws IOException {
+        // Given
+        Path directory = Files.createTempDirectory("external-sort-test");
+        List<String> strings = Arrays.asList("c", "a", "d", "b");
+        ExternalSortSpliterator<String> spliterator = ExternalSortSpliterator.of(
+                strings.spliterator(), Comparator.naturalOrder(), ElementCodec.ofStrings(), 4, directory);
+        List<String> sorted = new ArrayList<>();
+
+        // When
+        spliterator.tryAdvance(sorted::add);
+
+        // Then
+        try (Stream<Path> files = Files.list(directory)) {
+            Assert.assertEquals(files.count(), 0L);
+        }
+        spliterator.forEachRemaining(sorted::add);
+        Assert.assertEquals(sorted, Arrays.asList("a", "b", "c", "d"));
+        Files.delete(directory);
+    }
+
+    @Test
+    public void should_sort_a_stream_of_one_more_element_than_run_size() {
+        // Given
+        List<String> strings = Arrays.asList("e", "c", "a", "d", "b");
+
+        // When
+        List<String> sorted = StreamsUtils.sortedExternally(strings.stream(), Comparator.naturalOrder(), ElementCodec.ofStrings(), 4)
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(sorted, Arrays.asList("a", "b", "c", "d", "e"));
+    }
+
+    @Test
+    public void should_delete_the_runs_when_the_stream_is_closed_before_the_end() throws IOException {
+        // Given
+        Path directory = Files.createTempDirectory("external-sort-test");
+        List<String> strings = Arrays.asList("e", "d", "c", "b", "a");
+        ExternalSortSpliterator<String> spliterator = ExternalSortSpliterator.of(
+                strings.spliterator(), Comparator.naturalOrder(), ElementCodec.ofStrings(), 2, directory);
+
+        // When
+        try (Stream<String> stream = StreamSupport.stream(spliterator, false).onClose(spliterator::close)) {
+            Assert.assertEquals(stream.limit(2).collect(toList()), Arrays.asList("a", "b"));
+        }
+
+        // Then
+        try (Stream<Path> files = Files.list(directory)) {
+            Assert.assertEquals(files.count(), 0L);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void should_report_the_sorted_stream_as_sorted_and_sized() {
+        // Given
+        Comparator<String> comparator = Comparator.reverseOrder();
+
+        // When
+        Spliterator<String> spliterator =
+                StreamsUtils.sortedExternally(Stream.of("a", "b"), comparator, ElementCodec.ofStrings(), 10).spliterator();
+
+        // Then
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SORTED));
+        Assert.assertEquals(spliterator.getExactSizeIfKnown(), 2L);
+        Assert.assertSame(spliterator.getComparator(), comparator);
+    }
+}
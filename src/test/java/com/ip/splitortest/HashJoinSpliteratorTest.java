@@ -0,0 +1,106 @@
+package com.ip.splitortest;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.model.City;
+import com.ip.model.CityPerson;
+import com.ip.utils.StreamsUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+public class HashJoinSpliteratorTest {
+
+    private Stream<City> cities() {
+        return Stream.of(new City("Paris"), new City("Shanghai"), new City("New York"));
+    }
+
+    private Stream<CityPerson> people() {
+        return Stream.of(
+                new CityPerson("Paris", 23), new CityPerson("London", 56),
+                new CityPerson("Shanghai", 46), new CityPerson("Paris", 28));
+    }
+
+    @Test
+    public void should_join_the_elements_with_equal_keys() {
+        // When
+        List<String> joined = StreamsUtils.hashJoin(cities(), people(), City::getName, CityPerson::getName)
+                .map(entry -> entry.getKey().getName() + ":" + entry.getValue().getAge())
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(joined, Arrays.asList("Paris:23", "Shanghai:46", "Paris:28"));
+    }
+
+    @Test
+    public void should_return_every_match_of_duplicate_build_keys_in_build_order() {
+        // Given
+        Stream<String> build = Stream.of("a1", "b1", "a2", "a3");
+        Stream<String> probe = Stream.of("a", "c");
+
+        // When
+        List<String> joined = StreamsUtils.hashJoin(build, probe, s -> s.substring(0, 1), s -> s)
+                .map(Map.Entry::getKey)
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(joined, Arrays.asList("a1", "a2", "a3"));
+    }
+
+    @Test
+    public void should_keep_the_unmatched_probe_elements_in_a_left_join() {
+        // When
+        List<String> joined = StreamsUtils.leftHashJoin(cities(), people(), City::getName, CityPerson::getName)
+                .map(entry -> (entry.getKey() == null ? "?" : entry.getKey().getName()) + ":" + entry.getValue().getAge())
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(joined, Arrays.asList("Paris:23", "?:56", "Shanghai:46", "Paris:28"));
+    }
+
+    @Test
+    public void should_keep_the_matched_probe_elements_once_in_a_semi_join() {
+        // Given
+        Stream<City> cities = Stream.of(new City("Paris"), new City("Paris"));
+
+        // When
+        List<Integer> ages = StreamsUtils.semiHashJoin(cities, people(), City::getName, CityPerson::getName)
+                .map(CityPerson::getAge)
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(ages, Arrays.asList(23, 28));
+    }
+
+    @Test
+    public void should_join_a_large_parallel_probe_stream() {
+        // Given
+        Stream<Integer> build = IntStream.range(0, 10_000).boxed();
+        Stream<Integer> probe = IntStream.range(0, 1_000_000).boxed().parallel();
+
+        // When
+        long count = StreamsUtils.hashJoin(build, probe, i -> i, i -> i % 20_000).count();
+
+        // Then
+        Assert.assertEquals(count, 500_000L);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void should_not_join_a_null_build_stream() {
+        StreamsUtils.hashJoin(null, people(), City::getName, CityPerson::getName);
+    }
+}
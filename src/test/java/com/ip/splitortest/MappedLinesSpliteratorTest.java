@@ -0,0 +1,114 @@
+package com.ip.splitortest;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.splitors.MappedLinesSpliterator;
+import com.ip.utils.MappedFile;
+import com.ip.utils.StreamsUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+public class MappedLinesSpliteratorTest {
+
+    private static Path write(String content) throws IOException {
+        Path path = Files.createTempFile("mapped-lines-test", ".txt");
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    public void should_read_an_empty_file_into_an_empty_stream() throws IOException {
+        // Given
+        Path path = write("");
+
+        // When
+        List<String> lines = StreamsUtils.lines(path).collect(toList());
+
+        // Then
+        Assert.assertTrue(lines.isEmpty());
+        Files.delete(path);
+    }
+
+    @Test
+    public void should_read_the_lines_of_a_file_like_files_lines() throws IOException {
+        // Given
+        Path path = write("one\r\ntwo\n\nthr\u00e9e\nfour");
+
+        // When
+        List<String> lines = StreamsUtils.lines(path).collect(toList());
+
+        // Then
+        try (Stream<String> expected = Files.lines(path)) {
+            Assert.assertEquals(lines, expected.collect(toList()));
+        }
+        Assert.assertEquals(lines, Arrays.asList("one", "two", "", "thr\u00e9e", "four"));
+        Files.delete(path);
+    }
+
+    @Test
+    public void should_split_a_file_on_line_boundaries() throws IOException {
+        // Given
+        Path path = write(IntStream.range(0, 100_000).mapToObj(i -> "line " + i + "\n").collect(joining()));
+        MappedLinesSpliterator<String> spliterator =
+                MappedLinesSpliterator.of(MappedFile.map(path), MappedLinesSpliterator.LineDecoder.ofStrings(StandardCharsets.UTF_8));
+
+        // When
+        Spliterator<String> prefix = spliterator.trySplit();
+        List<String> lines = new ArrayList<>();
+        prefix.forEachRemaining(lines::add);
+        int prefixSize = lines.size();
+        spliterator.forEachRemaining(lines::add);
+
+        // Then
+        Assert.assertTrue(prefixSize > 0 && prefixSize < 100_000);
+        Assert.assertEquals(lines, IntStream.range(0, 100_000).mapToObj(i -> "line " + i).collect(toList()));
+        Files.delete(path);
+    }
+
+    @Test
+    public void should_read_a_file_in_parallel_in_the_same_order() throws IOException {
+        // Given
+        Path path = write(IntStream.range(0, 100_000).mapToObj(i -> i + "\n").collect(joining()));
+
+        // When
+        List<Integer> lines = StreamsUtils.lines(path).parallel().map(Integer::parseInt).collect(toList());
+
+        // Then
+        Assert.assertEquals(lines, IntStream.range(0, 100_000).boxed().collect(toList()));
+        Files.delete(path);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void should_not_read_lines_with_a_charset_that_encodes_line_feeds_on_two_bytes() throws IOException {
+        // Given
+        Path path = write("one\ntwo\n");
+
+        // Then
+        try {
+            StreamsUtils.lines(path, StandardCharsets.UTF_16);
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.ip.splitortest;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.model.Person;
+import com.ip.utils.StreamsUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+public class MergingSortedSpliteratorTest {
+
+    @Test
+    public void should_merge_no_stream_into_an_empty_stream() {
+        // When
+        long count = StreamsUtils.mergeSorted(Comparator.<String>naturalOrder()).count();
+
+        // Then
+        Assert.assertEquals(count, 0L);
+    }
+
+    @Test
+    public void should_merge_sorted_streams_into_a_sorted_stream() {
+        // Given
+        Stream<String> first = Stream.of("a", "c", "e");
+        Stream<String> second = Stream.of("b", "c", "d");
+        Stream<String> third = Stream.empty();
+
+        // When
+        List<String> list = StreamsUtils.mergeSorted(Comparator.naturalOrder(), first, second, third).collect(toList());
+
+        // Then
+        Assert.assertEquals(list, Arrays.asList("a", "b", "c", "c", "d", "e"));
+    }
+
+    @Test
+    public void should_keep_equal_elements_in_the_order_of_the_streams() {
+        // Given
+        Stream<Person> shard1 = Stream.of(new Person("anu", "jena", 22), new Person("pratap", "sahu", 27));
+        Stream<Person> shard2 = Stream.of(new Person("dipa", "rasmi", 22), new Person("anubhav", "sahoo", 26));
+        Comparator<Person> byAge = Comparator.comparingInt(Person::getAge);
+
+        // When
+        List<String> names = StreamsUtils.mergeSorted(byAge, shard1, shard2).map(Person::getFirstName).collect(toList());
+
+        // Then
+        Assert.assertEquals(names, Arrays.asList("anu", "dipa", "anubhav", "pratap"));
+    }
+
+    @Test
+    public void should_merge_many_random_streams_like_a_sort() {
+        // Given
+        Random random = new Random(314L);
+        List<List<Integer>> shards = new ArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            List<Integer> shard = random.ints(random.nextInt(50), 0, 100).sorted().boxed().collect(toList());
+            shards.add(shard);
+            expected.addAll(shard);
+        }
+        expected.sort(Comparator.naturalOrder());
+
+        // When
+        @SuppressWarnings("unchecked")
+        Stream<Integer>[] streams = shards.stream().map(List::stream).toArray(Stream[]::new);
+        List<Integer> merged = StreamsUtils.mergeSorted(Comparator.naturalOrder(), streams).collect(toList());
+
+        // Then
+        Assert.assertEquals(merged, expected);
+    }
+
+    @Test
+    public void should_report_the_merged_stream_as_sorted_with_the_provided_comparator() {
+        // Given
+        Comparator<Integer> comparator = Comparator.reverseOrder();
+
+        // When
+        Spliterator<Integer> spliterator =
+                StreamsUtils.mergeSorted(comparator, Stream.of(3, 1), Stream.of(2)).spliterator();
+
+        // Then
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SORTED));
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertEquals(spliterator.estimateSize(), 3L);
+        Assert.assertSame(spliterator.getComparator(), comparator);
+    }
+
+    @Test
+    public void should_pull_the_elements_lazily() {
+        // Given
+        AtomicInteger pulled = new AtomicInteger();
+        Stream<Integer> first = IntStream.range(0, 1_000).boxed().peek(i -> pulled.incrementAndGet());
+        Stream<Integer> second = IntStream.range(0, 1_000).boxed().peek(i -> pulled.incrementAndGet());
+
+        // When
+        List<Integer> list = StreamsUtils.mergeSorted(Comparator.naturalOrder(), first, second).limit(4).collect(toList());
+
+        // Then
+        Assert.assertEquals(list, Arrays.asList(0, 0, 1, 1));
+        Assert.assertTrue(pulled.get() <= 6, "pulled = " + pulled.get());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void should_not_merge_a_null_stream() {
+        StreamsUtils.mergeSorted(Comparator.<String>naturalOrder(), Stream.of("a"), null);
+    }
+}
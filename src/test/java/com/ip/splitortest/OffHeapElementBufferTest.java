@@ -0,0 +1,108 @@
+package com.ip.splitortest;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.splitors.CyclingSpliterator;
+import com.ip.splitors.OffHeapElementBuffer;
+import com.ip.utils.ElementCodec;
+import com.ip.utils.StreamsUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toList;
+
+public class OffHeapElementBufferTest {
+
+    @Test
+    public void should_read_back_the_elements_in_the_order_they_were_added() {
+        // Given
+        OffHeapElementBuffer<String> buffer = OffHeapElementBuffer.of(ElementCodec.ofStrings(), 16);
+        List<String> strings = Arrays.asList("one", "two", "a string longer than a slab", "three");
+
+        // When
+        strings.forEach(buffer::add);
+        List<String> iterated = new ArrayList<>();
+        buffer.iterator().forEachRemaining(iterated::add);
+        List<String> streamed = StreamSupport.stream(buffer.spliterator(), false).collect(toList());
+
+        // Then
+        Assert.assertEquals(buffer.size(), 4L);
+        Assert.assertEquals(iterated, strings);
+        Assert.assertEquals(streamed, strings);
+    }
+
+    @Test
+    public void should_cycle_an_off_heap_stream_like_an_on_heap_stream() {
+        // When
+        List<String> list = StreamsUtils.cycleOffHeap(Stream.of("tick", "tock"), ElementCodec.ofStrings())
+                .limit(5)
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(list, Arrays.asList("tick", "tock", "tick", "tock", "tick"));
+    }
+
+    @Test
+    public void should_release_the_buffer_of_a_closed_cycle() {
+        // Given
+        OffHeapElementBuffer<String> buffer = OffHeapElementBuffer.of(ElementCodec.ofStrings());
+        CyclingSpliterator<String> spliterator = CyclingSpliterator.of(Stream.of("tick", "tock").spliterator(), buffer);
+        Stream<Stream<String>> cycle = StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+
+        // When
+        long count = cycle.limit(3).count();
+        cycle.close();
+
+        // Then
+        Assert.assertEquals(count, 3L);
+        Assert.assertEquals(buffer.size(), 0L);
+    }
+
+    @Test
+    public void should_close_an_off_heap_cycle() {
+        // Given
+        List<String> closed = new ArrayList<>();
+        Stream<String> cycle = StreamsUtils.cycleOffHeap(
+                Stream.of("tick", "tock").onClose(() -> closed.add("source")), ElementCodec.ofStrings());
+
+        // When
+        List<String> list = cycle.limit(3).collect(toList());
+        cycle.close();
+
+        // Then
+        Assert.assertEquals(list, Arrays.asList("tick", "tock", "tick"));
+        Assert.assertEquals(closed, Arrays.asList("source"));
+    }
+
+    @Test
+    public void should_cross_an_off_heap_stream_like_an_on_heap_stream() {
+        // When
+        List<Map.Entry<Integer, Integer>> onHeap = StreamsUtils.crossProduct(IntStream.range(0, 100).boxed())
+                .collect(toList());
+        List<Map.Entry<Integer, Integer>> offHeap = StreamsUtils.crossProductOffHeap(IntStream.range(0, 100).boxed(), ElementCodec.ofIntegers())
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(offHeap, onHeap);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void should_not_build_a_buffer_with_an_empty_slab_size() {
+        OffHeapElementBuffer.of(ElementCodec.ofIntegers(), 0);
+    }
+}
@@ -0,0 +1,107 @@
+package com.ip.splitortest;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.splitors.SamplingSpliterator;
+import com.ip.utils.Reservoir;
+import com.ip.utils.StreamsUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+public class SamplingSpliteratorTest {
+
+    @Test
+    public void should_sample_an_empty_stream_into_an_empty_stream() {
+        // Given
+        Stream<String> strings = Stream.empty();
+
+        // When
+        long count = StreamsUtils.sample(strings, 10).count();
+
+        // Then
+        Assert.assertEquals(count, 0L);
+    }
+
+    @Test
+    public void should_return_all_the_elements_of_a_stream_shorter_than_the_sample() {
+        // Given
+        Stream<String> strings = Stream.of("one", "two", "three");
+
+        // When
+        Set<String> set = StreamsUtils.sample(strings, 10).collect(toSet());
+
+        // Then
+        Assert.assertEquals(set, new HashSet<>(Arrays.asList("one", "two", "three")));
+    }
+
+    @Test
+    public void should_sample_distinct_elements_of_a_parallel_stream() {
+        // Given
+        Stream<Integer> integers = IntStream.range(0, 100_000).boxed().parallel();
+
+        // When
+        List<Integer> sample = StreamsUtils.sample(integers, 100).collect(toList());
+
+        // Then
+        Assert.assertEquals(sample.size(), 100);
+        Assert.assertEquals(new HashSet<>(sample).size(), 100);
+    }
+
+    @Test
+    public void should_estimate_the_number_of_sampled_elements_left_during_the_traversal() {
+        // Given
+        SamplingSpliterator<Integer> spliterator =
+                SamplingSpliterator.of(IntStream.range(0, 1_000).boxed().spliterator(), 10, false);
+
+        // When
+        spliterator.tryAdvance(i -> {});
+        spliterator.tryAdvance(i -> {});
+
+        // Then
+        Assert.assertEquals(spliterator.estimateSize(), 8L);
+        spliterator.forEachRemaining(i -> {});
+        Assert.assertEquals(spliterator.estimateSize(), 0L);
+    }
+
+    @Test
+    public void should_sample_every_element_with_the_same_probability() {
+        // Given
+        int[] hits = new int[10];
+
+        // When
+        for (int run = 0; run < 20_000; run++) {
+            Reservoir<Integer> reservoir = new Reservoir<>(2, run);
+            Reservoir<Integer> other = new Reservoir<>(2, -run);
+            IntStream.range(0, 4).forEach(reservoir::add);
+            IntStream.range(4, 10).forEach(other::add);
+            reservoir.merge(other).getSample().forEach(i -> hits[i]++);
+        }
+
+        // Then
+        for (int hit : hits) {
+            Assert.assertEquals(hit, 4_000d, 400d);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void should_not_build_a_sampling_stream_with_an_empty_sample() {
+        StreamsUtils.sample(Stream.of("one"), 0);
+    }
+}
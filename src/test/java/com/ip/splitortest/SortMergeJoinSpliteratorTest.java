@@ -0,0 +1,84 @@
+package com.ip.splitortest;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.model.Person;
+import com.ip.utils.StreamsUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+public class SortMergeJoinSpliteratorTest {
+
+    @Test
+    public void should_join_an_empty_stream_into_an_empty_stream() {
+        // Given
+        Stream<Integer> left = Stream.of(0).filter(i -> i > 0); // trick to create an empty ordered stream
+
+        // When
+        long count = StreamsUtils.mergeJoin(left, Stream.of(1, 2), Function.identity(), Function.identity()).count();
+
+        // Then
+        Assert.assertEquals(count, 0L);
+    }
+
+    @Test
+    public void should_join_every_pair_of_duplicate_keys() {
+        // Given
+        Stream<Integer> left = Stream.of(1, 2, 2, 4);
+        Stream<Integer> right = Stream.of(2, 2, 3, 4, 5);
+
+        // When
+        List<String> joined = StreamsUtils.mergeJoin(left, right, Function.identity(), Function.identity())
+                .map(entry -> entry.getKey() + "-" + entry.getValue())
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(joined, Arrays.asList("2-2", "2-2", "2-2", "2-2", "4-4"));
+    }
+
+    @Test
+    public void should_join_persons_on_their_age() {
+        // Given
+        Stream<Person> persons = Stream.of(
+                new Person("anu", "jena", 22), new Person("dipa", "rasmi", 23), new Person("pratap", "sahu", 27));
+        Stream<String> ageGroups = Stream.of("22:young", "23:young", "23:junior", "30:senior");
+
+        // When
+        List<String> joined = StreamsUtils.mergeJoin(persons, ageGroups, Person::getAge, s -> Integer.parseInt(s.split(":")[0]))
+                .map(entry -> entry.getKey().getFirstName() + " " + entry.getValue().split(":")[1])
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(joined, Arrays.asList("anu young", "dipa young", "dipa junior"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void should_fail_on_a_stream_that_is_not_sorted() {
+        StreamsUtils.mergeJoin(Stream.of(3, 1), Stream.of(1, 3), Function.identity(), Function.identity()).count();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void should_not_build_a_merge_join_on_a_non_ordered_stream() {
+        // Given
+        Set<Integer> set = new HashSet<>(Arrays.asList(1, 2));
+
+        // Then
+        StreamsUtils.mergeJoin(set.stream(), Stream.of(1, 2), Function.identity(), Function.identity());
+    }
+}
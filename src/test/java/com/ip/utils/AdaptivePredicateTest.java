@@ -0,0 +1,134 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class AdaptivePredicateTest {
+
+    private static boolean slowlyTrue(int i) {
+        double d = i;
+        for (int k = 0; k < 2_000; k++) {
+            d = Math.sqrt(d + k);
+        }
+        return d >= 0d;
+    }
+
+    @Test
+    public void should_evaluate_a_cheap_selective_clause_first_in_a_conjunction() {
+        // Given
+        Predicate<Integer> slow = AdaptivePredicateTest::slowlyTrue;
+        Predicate<Integer> selective = i -> i % 100 == 0;
+        AdaptivePredicate<Integer> predicate = AdaptivePredicate.allOf(Arrays.asList(slow, selective), 1, 10);
+
+        // When
+        long count = IntStream.range(0, 1_000).boxed().filter(predicate::test).count();
+
+        // Then
+        Assert.assertEquals(count, 10L);
+        Assert.assertEquals(predicate.getOrder(), new int[]{1, 0});
+        Assert.assertEquals(predicate.getStatistics().get(1).getSelectivity(), 0.01, 1e-9);
+    }
+
+    @Test
+    public void should_evaluate_a_cheap_selective_clause_first_in_a_disjunction() {
+        // Given
+        Predicate<Integer> slow = i -> !slowlyTrue(i);
+        Predicate<Integer> selective = i -> i % 100 != 0;
+        AdaptivePredicate<Integer> predicate = AdaptivePredicate.anyOf(Arrays.asList(slow, selective), 1, 10);
+
+        // When
+        long count = IntStream.range(0, 1_000).boxed().filter(predicate::test).count();
+
+        // Then
+        Assert.assertEquals(count, 990L);
+        Assert.assertEquals(predicate.getOrder(), new int[]{1, 0});
+    }
+
+    @Test
+    public void should_short_circuit_the_evaluations_that_are_not_sampled() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Predicate<Integer> counted = i -> calls.incrementAndGet() > 0;
+        AdaptivePredicate<Integer> predicate = AdaptivePredicate.allOf(
+                Arrays.asList((Predicate<Integer>) i -> false, counted), Integer.MAX_VALUE, 1);
+
+        // When
+        IntStream.range(0, 10_000).boxed().forEach(predicate::test);
+
+        // Then
+        Assert.assertTrue(calls.get() < 10);
+        Assert.assertEquals(predicate.getStatistics().get(1).getEvaluations(), calls.get());
+    }
+
+    @Test
+    public void should_measure_every_clause_in_a_sampled_evaluation() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Predicate<Integer> counted = i -> calls.incrementAndGet() > 0;
+        AdaptivePredicate<Integer> predicate = AdaptivePredicate.allOf(
+                Arrays.asList((Predicate<Integer>) i -> false, counted), 1, Integer.MAX_VALUE);
+
+        // When
+        long count = IntStream.range(0, 5).boxed().filter(predicate::test).count();
+
+        // Then
+        Assert.assertEquals(count, 0L);
+        Assert.assertEquals(calls.get(), 5);
+        Assert.assertEquals(predicate.getStatistics().get(1).getEvaluations(), 5L);
+        Assert.assertEquals(predicate.getStatistics().get(1).getSelectivity(), 1d, 1e-9);
+    }
+
+    @Test
+    public void should_move_first_a_clause_placed_behind_a_clause_that_always_decides() {
+        // Given
+        Predicate<Integer> slowAndFalse = i -> !slowlyTrue(i);
+        Predicate<Integer> cheapAndFalse = i -> false;
+        AdaptivePredicate<Integer> predicate = AdaptivePredicate.allOf(Arrays.asList(slowAndFalse, cheapAndFalse), 1, 10);
+
+        // When
+        long count = IntStream.range(0, 100).boxed().filter(predicate::test).count();
+
+        // Then
+        Assert.assertEquals(count, 0L);
+        Assert.assertEquals(predicate.getOrder(), new int[]{1, 0});
+    }
+
+    @Test
+    public void should_give_the_result_of_and_and_or_in_parallel() {
+        // Given
+        Predicate<Integer> even = i -> i % 2 == 0;
+        Predicate<Integer> small = i -> i < 500;
+        Predicate<Integer> multipleOfThree = i -> i % 3 == 0;
+        AdaptivePredicate<Integer> all = AdaptivePredicate.allOf(Arrays.asList(even, small, multipleOfThree), 2, 3);
+        AdaptivePredicate<Integer> any = AdaptivePredicate.anyOf(Arrays.asList(even, small, multipleOfThree), 2, 3);
+
+        // When
+        List<Boolean> allResults = IntStream.range(0, 10_000).parallel().mapToObj(all::test).collect(java.util.stream.Collectors.toList());
+        List<Boolean> anyResults = IntStream.range(0, 10_000).parallel().mapToObj(any::test).collect(java.util.stream.Collectors.toList());
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            Assert.assertEquals((boolean) allResults.get(i), i % 2 == 0 && i < 500 && i % 3 == 0);
+            Assert.assertEquals((boolean) anyResults.get(i), i % 2 == 0 || i < 500 || i % 3 == 0);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void should_not_build_an_empty_predicate() {
+        AdaptivePredicate.allOf();
+    }
+}
@@ -0,0 +1,85 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.model.City;
+import com.ip.model.CityPerson;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+public class CompactMultimapTest {
+
+    @Test
+    public void should_group_values_by_key_in_order() {
+        // Given
+        CompactMultimap<City, CityPerson> map = new CompactMultimap<>();
+
+        // When
+        map.put(City.of("Paris"), new CityPerson("Alice", 23));
+        map.put(City.of("New York"), new CityPerson("Brian", 56));
+        map.put(City.of("New York"), new CityPerson("Chelsea", 46));
+
+        // Then
+        Assert.assertEquals(map.keys(), Arrays.asList(City.of("Paris"), City.of("New York")));
+        Assert.assertEquals(map.count(new City("New York")), 2);
+        Assert.assertEquals(map.get(new City("New York")).get(1).getName(), "Chelsea");
+        Assert.assertEquals(map.get(City.of("Shanghai")), Collections.emptyList());
+        Assert.assertEquals(map.size(), 3L);
+    }
+
+    @Test
+    public void should_group_a_stream_like_grouping_by() {
+        // Given
+        List<Integer> integers = IntStream.range(0, 100_000).boxed().collect(toList());
+
+        // When
+        CompactMultimap<Integer, Integer> multimap = integers.parallelStream().collect(CompactMultimap.grouping(i -> i % 1_000));
+        Map<Integer, List<Integer>> map = integers.stream().collect(groupingBy(i -> i % 1_000));
+
+        // Then
+        Assert.assertEquals(multimap.keyCount(), 1_000);
+        Assert.assertEquals(multimap.size(), 100_000L);
+        Assert.assertEquals(multimap.toMap(), map);
+    }
+
+    @Test
+    public void should_merge_the_values_of_another_multimap_after_its_own() {
+        // Given
+        CompactMultimap<String, Integer> first = new CompactMultimap<>();
+        CompactMultimap<String, Integer> second = new CompactMultimap<>();
+        IntStream.range(0, 10).forEach(i -> first.put("a", i));
+        IntStream.range(10, 5_000).forEach(i -> second.put("a", i));
+        second.put("b", null);
+
+        // When
+        first.merge(second);
+
+        // Then
+        Assert.assertEquals(first.get("a"), IntStream.range(0, 5_000).boxed().collect(toList()));
+        Assert.assertEquals(first.get("b"), Collections.singletonList(null));
+        Assert.assertEquals(first.count("a"), 5_000);
+        Assert.assertEquals(first.size(), 5_001L);
+        Assert.assertEquals(second.count("a"), 4_990);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void should_not_accept_a_null_key() {
+        new CompactMultimap<String, String>().put(null, "value");
+    }
+}
@@ -0,0 +1,111 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.model.Person;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ComparatorChainTest {
+
+    private static List<Person> persons() {
+        Random random = new Random(314L);
+        String[] names = {"anubhav", "pratap", "anu", "dipa", "sahoo", "sahu"};
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            persons.add(new Person(names[random.nextInt(names.length)], names[random.nextInt(names.length)], random.nextInt(30)));
+        }
+        return persons;
+    }
+
+    @Test
+    public void should_sort_as_a_jdk_comparator_chain() {
+        // Given
+        List<Person> persons = persons();
+        List<Person> expected = new ArrayList<>(persons);
+        expected.sort(java.util.Comparator.comparing(Person::getLastName)
+                .thenComparing(Person::getFirstName, java.util.Comparator.reverseOrder())
+                .thenComparingInt(Person::getAge)
+                .reversed());
+        Comparator<Person> comparator = ComparatorChain.<Person>builder()
+                .thenComparing(Person::getLastName).descending()
+                .thenComparing(Person::getFirstName)
+                .thenComparingInt(Person::getAge).descending()
+                .build();
+
+        // When
+        persons.sort(comparator.toComparator());
+
+        // Then
+        Assert.assertEquals(persons, expected);
+    }
+
+    @Test
+    public void should_compare_primitive_keys() {
+        // Given
+        Comparator<double[]> comparator = ComparatorChain.<double[]>builder()
+                .thenComparingLong(values -> (long) values[0])
+                .thenComparingDouble(values -> values[1]).descending()
+                .build();
+
+        // Then
+        Assert.assertEquals(comparator.compare(new double[]{1d, 2d}, new double[]{2d, 1d}), -1);
+        Assert.assertEquals(comparator.compare(new double[]{1d, 2d}, new double[]{1d, 1d}), -1);
+        Assert.assertEquals(comparator.compare(new double[]{1d, Double.NaN}, new double[]{1d, 1d}), -1);
+        Assert.assertEquals(comparator.compare(new double[]{1d, 1d}, new double[]{1d, 1d}), 0);
+    }
+
+    @Test
+    public void should_not_compute_the_next_keys_of_different_elements() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Comparator<Person> comparator = ComparatorChain.<Person>builder()
+                .thenComparingInt(Person::getAge)
+                .thenComparing(person -> {
+                    calls.incrementAndGet();
+                    return person.getLastName();
+                })
+                .build();
+
+        // When
+        int result = comparator.compare(new Person("anu", "jena", 22), new Person("anu", "jena", 26));
+
+        // Then
+        Assert.assertEquals(result, -1);
+        Assert.assertEquals(calls.get(), 0);
+    }
+
+    @Test
+    public void should_call_a_utils_comparator_chain_once_per_comparison() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Comparator<Person> byAge = (p1, p2) -> {
+            calls.incrementAndGet();
+            return Integer.compare(p1.getAge(), p2.getAge());
+        };
+        Comparator<Person> comparator = byAge.thenComparing(Person::getLastName).thenComparingInt(Person::getAge);
+
+        // When
+        comparator.compare(new Person("anu", "jena", 22), new Person("anu", "sahu", 22));
+
+        // Then
+        Assert.assertEquals(calls.get(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void should_not_reverse_an_empty_chain() {
+        ComparatorChain.<Person>builder().descending();
+    }
+}
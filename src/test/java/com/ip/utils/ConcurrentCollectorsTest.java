@@ -0,0 +1,120 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.model.City;
+import com.ip.model.CityPerson;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.groupingBy;
+
+public class ConcurrentCollectorsTest {
+
+    private static <K> Map<K, List<Integer>> sorted(Map<K, List<Integer>> map) {
+        Map<K, List<Integer>> sorted = new HashMap<>();
+        map.forEach((key, values) -> {
+            List<Integer> list = new ArrayList<>(values);
+            Collections.sort(list);
+            sorted.put(key, list);
+        });
+        return sorted;
+    }
+
+    @Test
+    public void should_group_a_sequential_stream() {
+        // Given
+        Stream<CityPerson> persons = Stream.of(
+                new CityPerson("Alice", 23), new CityPerson("Brian", 56), new CityPerson("Chelsea", 23));
+
+        // When
+        Map<City, List<CityPerson>> map = persons.collect(
+                ConcurrentCollectors.groupingByStriped(person -> City.of(person.getAge() == 23 ? "Paris" : "New York")));
+
+        // Then
+        Assert.assertEquals(map.size(), 2);
+        Assert.assertEquals(map.get(new City("Paris")).size(), 2);
+        Assert.assertEquals(map.get(new City("New York")).get(0).getName(), "Brian");
+    }
+
+    @Test
+    public void should_group_a_parallel_stream_on_a_few_keys_like_grouping_by() {
+        // When
+        Map<Integer, List<Integer>> striped = IntStream.range(0, 1_000_000).boxed().parallel()
+                .collect(ConcurrentCollectors.groupingByStriped(i -> i % 3, 4));
+
+        // Then
+        Assert.assertEquals(sorted(striped), IntStream.range(0, 1_000_000).boxed().collect(groupingBy(i -> i % 3)));
+    }
+
+    @Test
+    public void should_group_a_parallel_stream_on_many_keys_like_grouping_by() {
+        // When
+        Map<Integer, List<Integer>> striped = IntStream.range(0, 1_000_000).boxed().parallel()
+                .collect(ConcurrentCollectors.groupingByStriped(i -> i % 50_000));
+
+        // Then
+        Assert.assertEquals(sorted(striped), IntStream.range(0, 1_000_000).boxed().collect(groupingBy(i -> i % 50_000)));
+    }
+
+    private static <A> Map<Integer, List<Integer>> accumulateFromThreads(
+            Collector<Integer, A, Map<Integer, List<Integer>>> collector, int threads, int valuesPerThread)
+            throws InterruptedException {
+        A container = collector.supplier().get();
+        BiConsumer<A, Integer> accumulator = collector.accumulator();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            int from = thread * valuesPerThread;
+            executor.execute(() -> IntStream.range(from, from + valuesPerThread).forEach(i -> accumulator.accept(container, i)));
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        return collector.finisher().apply(container);
+    }
+
+    @Test
+    public void should_keep_the_values_appended_by_the_threads_of_a_pool_to_the_same_key() throws InterruptedException {
+        // When
+        Map<Integer, List<Integer>> map = accumulateFromThreads(
+                ConcurrentCollectors.groupingByStriped(i -> i % 2, 4), 8, 10_000);
+
+        // Then
+        Assert.assertEquals(sorted(map), IntStream.range(0, 80_000).boxed().collect(groupingBy(i -> i % 2)));
+    }
+
+    @Test
+    public void should_group_with_a_single_stripe() {
+        // When
+        Map<Boolean, List<Integer>> map = Stream.of(1, 2, 3, 4).parallel()
+                .collect(ConcurrentCollectors.groupingByStriped(i -> i % 2 == 0, 1));
+
+        // Then
+        Assert.assertEquals(sorted(map).get(true), Arrays.asList(2, 4));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void should_not_build_a_collector_without_stripes() {
+        ConcurrentCollectors.groupingByStriped(i -> i, 0);
+    }
+}
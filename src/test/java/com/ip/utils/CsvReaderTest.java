@@ -0,0 +1,125 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.model.CityPerson;
+import com.ip.model.CsvLoader;
+import com.ip.model.Person;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+public class CsvReaderTest {
+
+    private static Path write(String content) throws IOException {
+        Path path = Files.createTempFile("csv-reader-test", ".csv");
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    public void should_read_the_header_and_the_fields_of_a_file() throws IOException {
+        // Given
+        Path path = write("id,comment,count\r\n1,\"a, \"\"quoted\"\" comment\", 12 \n\n2,,-7\n");
+        CsvReader reader = CsvReader.open(path);
+
+        // When
+        List<String> comments = reader.records().map(record -> record.getString(1)).collect(toList());
+        int[] counts = reader.ints(reader.column("COUNT")).toArray();
+
+        // Then
+        Assert.assertEquals(reader.getHeader(), Arrays.asList("id", "comment", "count"));
+        Assert.assertEquals(comments, Arrays.asList("a, \"quoted\" comment", ""));
+        Assert.assertEquals(counts, new int[]{12, -7});
+        Files.delete(path);
+    }
+
+    @Test
+    public void should_load_persons_with_their_columns_in_any_order() throws IOException {
+        // Given
+        Path path = write("age,city,lastName,firstName\n22,bbsr,jena,anu\n23,cuttack,rasmi,dipa\n");
+
+        // When
+        List<String> persons = CsvLoader.persons(path)
+                .map(person -> person.getFirstName() + " " + person.getLastName() + " " + person.getAge())
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(persons, Arrays.asList("anu jena 22", "dipa rasmi 23"));
+        Files.delete(path);
+    }
+
+    @Test
+    public void should_load_city_persons() throws IOException {
+        // Given
+        Path path = write("name,age\npratap,27\n");
+
+        // When
+        List<CityPerson> persons = CsvLoader.cityPersons(path).collect(toList());
+
+        // Then
+        Assert.assertEquals(persons.size(), 1);
+        Assert.assertEquals(persons.get(0).getName(), "pratap");
+        Assert.assertEquals(persons.get(0).getAge(), 27);
+        Files.delete(path);
+    }
+
+    @Test
+    public void should_load_the_ages_of_a_large_file_in_parallel() throws IOException {
+        // Given
+        Path path = write("firstName,lastName,age\n"
+                + IntStream.range(0, 100_000).mapToObj(i -> "first" + i + ",last" + i + "," + (i % 100) + "\n").collect(joining()));
+
+        // When
+        long sum = CsvLoader.ages(path).parallel().asLongStream().sum();
+        long count = CsvLoader.persons(path).parallel().map(Person::getLastName).distinct().count();
+
+        // Then
+        Assert.assertEquals(sum, 1_000L * 4_950L);
+        Assert.assertEquals(count, 100_000L);
+        Files.delete(path);
+    }
+
+    @Test(expectedExceptions = NumberFormatException.class)
+    public void should_not_parse_a_field_that_is_not_an_int() throws IOException {
+        // Given
+        Path path = write("name,age\npratap,twenty\n");
+
+        // Then
+        try {
+            CsvLoader.ages(path).sum();
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void should_not_load_persons_from_a_file_without_an_age_column() throws IOException {
+        // Given
+        Path path = write("firstName,lastName\nanu,jena\n");
+
+        // Then
+        try {
+            CsvLoader.persons(path);
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
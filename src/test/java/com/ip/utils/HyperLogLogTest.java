@@ -0,0 +1,74 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void should_estimate_zero_for_an_empty_stream() {
+        // When
+        long count = IntStream.empty().boxed().collect(HyperLogLog.countingDistinct(14));
+
+        // Then
+        Assert.assertEquals(count, 0L);
+    }
+
+    @Test
+    public void should_count_small_cardinalities_almost_exactly() {
+        // Given
+        IntStream ints = IntStream.range(0, 1_000).map(i -> i % 100);
+
+        // When
+        long count = HyperLogLog.countDistinct(ints, 14);
+
+        // Then
+        Assert.assertTrue(Math.abs(count - 100L) <= 2L, "count = " + count);
+    }
+
+    @Test
+    public void should_estimate_large_cardinalities_within_the_standard_error() {
+        // Given
+        LongStream longs = LongStream.range(0L, 1_000_000L).parallel();
+
+        // When
+        long count = HyperLogLog.countDistinct(longs, 14);
+
+        // Then
+        Assert.assertEquals(count, 1_000_000d, 1_000_000d * 0.03d);
+    }
+
+    @Test
+    public void should_give_the_same_estimate_for_a_sequential_and_a_parallel_stream() {
+        // When
+        long sequential = IntStream.range(0, 100_000).mapToObj(i -> "key-" + i)
+                .collect(HyperLogLog.countingDistinct(12));
+        long parallel = IntStream.range(0, 100_000).parallel().mapToObj(i -> "key-" + i)
+                .collect(HyperLogLog.countingDistinct(12));
+
+        // Then
+        Assert.assertEquals(parallel, sequential);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void should_not_build_a_sketch_with_a_too_high_precision() {
+        new HyperLogLog(HyperLogLog.MAX_PRECISION + 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void should_not_merge_sketches_of_different_precisions() {
+        new HyperLogLog(10).merge(new HyperLogLog(12));
+    }
+}
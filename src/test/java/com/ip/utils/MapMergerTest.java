@@ -0,0 +1,72 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+public class MapMergerTest {
+
+    @Test
+    public void should_merge_no_map_into_an_empty_map() {
+        // When
+        Map<String, List<Integer>> merged = MapMerger.mergeAll(Collections.<Map<String, List<Integer>>>emptyList());
+
+        // Then
+        Assert.assertTrue(merged.isEmpty());
+    }
+
+    @Test
+    public void should_keep_the_values_in_the_order_of_the_maps() {
+        // Given
+        Map<String, List<Integer>> map1 = new HashMap<>();
+        map1.put("Paris", new ArrayList<>(Arrays.asList(1, 2)));
+        map1.put("Shanghai", new ArrayList<>(Arrays.asList(3)));
+        Map<String, List<Integer>> map2 = new HashMap<>();
+        map2.put("Paris", new ArrayList<>(Arrays.asList(4)));
+        Map<String, List<Integer>> map3 = new HashMap<>();
+        map3.put("Paris", new ArrayList<>(Arrays.asList(5, 6)));
+        map3.put("New York", new ArrayList<>(Arrays.asList(7)));
+
+        // When
+        Map<String, List<Integer>> merged = MapMerger.mergeAll(Arrays.asList(map1, map2, map3));
+
+        // Then
+        Assert.assertEquals(merged.get("Paris"), Arrays.asList(1, 2, 4, 5, 6));
+        Assert.assertEquals(merged.get("Shanghai"), Arrays.asList(3));
+        Assert.assertEquals(merged.get("New York"), Arrays.asList(7));
+        Assert.assertEquals(map1.get("Paris"), Arrays.asList(1, 2));
+    }
+
+    @Test
+    public void should_merge_many_shards_like_a_single_grouping() {
+        // Given
+        List<Map<Integer, List<Integer>>> shards = IntStream.range(0, 64)
+                .mapToObj(shard -> IntStream.range(shard * 1_000, (shard + 1) * 1_000).boxed().collect(groupingBy(i -> i % 37)))
+                .collect(toList());
+
+        // When
+        Map<Integer, List<Integer>> merged = MapMerger.mergeAll(shards);
+
+        // Then
+        Assert.assertEquals(merged, IntStream.range(0, 64_000).boxed().collect(groupingBy(i -> i % 37)));
+    }
+}
@@ -0,0 +1,141 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+public class MemoizerTest {
+
+    @Test
+    public void should_compute_a_repeated_key_once() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Memoizer<String, Integer> length = Memoizer.memoize(s -> {
+            calls.incrementAndGet();
+            return s.length();
+        }, 100);
+
+        // When
+        List<Integer> lengths = Arrays.asList("one", "three", "one", "one", "three", "seven").stream().map(length).collect(toList());
+
+        // Then
+        Assert.assertEquals(lengths, Arrays.asList(3, 5, 3, 3, 5, 5));
+        Assert.assertEquals(calls.get(), 3);
+        Assert.assertEquals(length.missCount(), 3L);
+        Assert.assertEquals(length.hitCount(), 3L);
+        Assert.assertEquals(length.size(), 3);
+    }
+
+    @Test
+    public void should_not_hold_more_than_max_size_results() {
+        // Given
+        Memoizer<Integer, Integer> square = Memoizer.memoize(i -> i * i, 50);
+
+        // When
+        IntStream.range(0, 1_000).boxed().forEach(square::apply);
+
+        // Then
+        Assert.assertTrue(square.size() <= 50);
+        Assert.assertEquals(square.evictionCount(), 1_000L - square.size());
+        Assert.assertEquals((int) square.apply(999), 999 * 999);
+    }
+
+    @Test
+    public void should_keep_the_keys_read_again_through_a_scan() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Memoizer<Integer, Integer> memoizer = Memoizer.memoize(i -> {
+            calls.incrementAndGet();
+            return i;
+        }, 100);
+        // the hot keys are read twice, and promoted to the protected area of their segment
+        IntStream.range(0, 16).forEach(i -> {
+            memoizer.apply(i);
+            memoizer.apply(-1);
+            memoizer.apply(i);
+        });
+        calls.set(0);
+
+        // When
+        IntStream.range(1_000, 2_000).forEach(memoizer::apply);
+        IntStream.range(0, 16).forEach(memoizer::apply);
+
+        // Then
+        Assert.assertEquals(calls.get(), 1_000);
+    }
+
+    @Test
+    public void should_keep_all_the_hot_keys_of_a_small_cache() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Memoizer<Integer, Integer> memoizer = Memoizer.memoize(i -> {
+            calls.incrementAndGet();
+            return i;
+        }, 16);
+
+        // When
+        for (int round = 0; round < 5; round++) {
+            IntStream.range(0, 12).forEach(memoizer::apply);
+        }
+
+        // Then
+        Assert.assertEquals(calls.get(), 12);
+        Assert.assertEquals(memoizer.evictionCount(), 0L);
+    }
+
+    @Test
+    public void should_cache_null_results() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Memoizer<String, String> nothing = Memoizer.memoize(s -> {
+            calls.incrementAndGet();
+            return null;
+        }, 10);
+
+        // When
+        nothing.apply("a");
+        nothing.apply("b");
+        String result = nothing.apply("a");
+
+        // Then
+        Assert.assertNull(result);
+        Assert.assertEquals(calls.get(), 2);
+    }
+
+    @Test
+    public void should_give_the_results_of_the_function_from_several_threads() {
+        // Given
+        Function<Integer, String> function = i -> "#" + i;
+        Memoizer<Integer, String> memoizer = Memoizer.memoize(function, 64);
+
+        // When
+        List<String> results = IntStream.range(0, 100_000).parallel().mapToObj(i -> memoizer.apply(i % 100)).collect(toList());
+
+        // Then
+        for (int i = 0; i < results.size(); i++) {
+            Assert.assertEquals(results.get(i), "#" + (i % 100));
+        }
+        Assert.assertEquals(memoizer.hitCount() + memoizer.missCount(), 100_000L);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void should_not_memoize_in_an_empty_cache() {
+        Memoizer.memoize(Function.identity(), 0);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+public class PrimitivePredicateTest {
+
+    @Test
+    public void should_combine_int_predicates() {
+        // Given
+        IntPredicate evenAndSmall = IntPredicate.isEven().and(i -> i < 10);
+        IntPredicate oddOrZero = IntPredicate.isEven().negate().or(IntPredicate.isEqualsTo(0));
+
+        // Then
+        Assert.assertEquals(IntStream.range(-2, 14).filter(evenAndSmall::test).toArray(), new int[]{-2, 0, 2, 4, 6, 8});
+        Assert.assertEquals(IntStream.range(-2, 4).filter(oddOrZero::test).toArray(), new int[]{-1, 0, 1, 3});
+    }
+
+    @Test
+    public void should_test_membership_in_a_dense_range() {
+        // Given
+        IntPredicate isIn = IntPredicate.isIn(-3, 7, 63, 64, 100, 7);
+
+        // Then
+        Assert.assertEquals(IntStream.range(-200, 200).filter(isIn::test).toArray(), new int[]{-3, 7, 63, 64, 100});
+        Assert.assertFalse(isIn.test(Integer.MIN_VALUE));
+        Assert.assertFalse(isIn.test(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void should_test_membership_in_a_sparse_set() {
+        // Given
+        Random random = new Random(314L);
+        long[] values = random.longs(1_000).toArray();
+        values[0] = 0L;
+        values[1] = Long.MIN_VALUE;
+        values[2] = Long.MAX_VALUE;
+        Set<Long> expected = new HashSet<>();
+        for (long value : values) {
+            expected.add(value);
+        }
+        LongPredicate isIn = LongPredicate.isIn(values);
+
+        // Then
+        for (long value : values) {
+            Assert.assertTrue(isIn.test(value));
+        }
+        random.longs(10_000).forEach(l -> Assert.assertEquals(isIn.test(l), expected.contains(l)));
+        Assert.assertFalse(LongPredicate.isIn(1L, Long.MAX_VALUE).test(0L));
+    }
+
+    @Test
+    public void should_test_membership_in_sparse_ints() {
+        // Given
+        IntPredicate isIn = IntPredicate.isIn(Integer.MIN_VALUE, -1_000_000, 0, 1_000_000, Integer.MAX_VALUE);
+
+        // Then
+        Assert.assertTrue(isIn.test(Integer.MIN_VALUE));
+        Assert.assertTrue(isIn.test(0));
+        Assert.assertTrue(isIn.test(Integer.MAX_VALUE));
+        Assert.assertFalse(isIn.test(1));
+        Assert.assertFalse(isIn.test(-1_000_001));
+    }
+
+    @Test
+    public void should_match_nothing_with_no_value() {
+        Assert.assertFalse(IntPredicate.isIn().test(0));
+        Assert.assertTrue(LongPredicate.isIn(5L).test(5L));
+        Assert.assertTrue(LongPredicate.isIn(5L).negate().and(LongPredicate.isEqualsTo(6L)).test(6L));
+    }
+}
@@ -0,0 +1,166 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.model.Person;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+public class SortingTest {
+
+    private static List<Person> persons() {
+        return Arrays.asList(
+                new Person("anubhav", "sahoo", 26), new Person("pratap", "sahu", 27),
+                new Person("anu", "jena", 22), new Person("dipa", "rasmi", 26));
+    }
+
+    @Test
+    public void should_compute_each_key_once() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        List<String> strings = IntStream.range(0, 1_000).mapToObj(i -> "s" + (i * 7919 % 1_000)).collect(toList());
+
+        // When
+        List<String> sorted = StreamsUtils.sortedByKey(strings.stream(), s -> {
+            calls.incrementAndGet();
+            return s;
+        }).collect(toList());
+
+        // Then
+        Assert.assertEquals(calls.get(), 1_000);
+        Assert.assertEquals(sorted, strings.stream().sorted().collect(toList()));
+    }
+
+    @Test
+    public void should_sort_persons_by_age_keeping_the_order_of_equal_ages() {
+        // When
+        List<String> names = StreamsUtils.sortedByIntKey(persons().stream(), Person::getAge)
+                .map(Person::getFirstName)
+                .collect(toList());
+
+        // Then
+        Assert.assertEquals(names, Arrays.asList("anu", "anubhav", "dipa", "pratap"));
+    }
+
+    @Test
+    public void should_sort_negative_and_extreme_int_keys() {
+        // Given
+        Random random = new Random(314L);
+        Integer[] array = IntStream.range(0, 10_000).map(i -> i % 10 == 0 ? Integer.MIN_VALUE : random.nextInt()).boxed().toArray(Integer[]::new);
+        Integer[] expected = array.clone();
+        Arrays.sort(expected);
+
+        // When
+        Sorting.sortByIntKey(array, i -> i, true);
+
+        // Then
+        Assert.assertEquals(array, expected);
+    }
+
+    @Test
+    public void should_sort_long_and_double_keys_like_a_comparator() {
+        // Given
+        Random random = new Random(314L);
+        List<Double> doubles = random.doubles(10_000, -1e6, 1e6).boxed().collect(toList());
+        doubles.addAll(Arrays.asList(Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+        List<Long> longs = random.longs(10_000).boxed().collect(toList());
+
+        // When
+        List<Double> sortedDoubles = StreamsUtils.sortedByDoubleKey(doubles.parallelStream(), d -> d).collect(toList());
+        List<Long> sortedLongs = new ArrayList<>(longs);
+        Sorting.sortByLongKey(sortedLongs, l -> l, false);
+
+        // Then
+        Assert.assertEquals(sortedDoubles, doubles.stream().sorted(Double::compare).collect(toList()));
+        Assert.assertEquals(sortedLongs, longs.stream().sorted().collect(toList()));
+    }
+
+    @Test
+    public void should_sort_with_a_comparator_of_keys() {
+        // Given
+        List<Person> persons = new ArrayList<>(persons());
+
+        // When
+        Sorting.sortByKey(persons, Person::getLastName, Comparator.reverseOrder(), true);
+
+        // Then
+        Assert.assertEquals(persons.stream().map(Person::getLastName).collect(toList()), Arrays.asList("sahu", "sahoo", "rasmi", "jena"));
+    }
+
+    @Test
+    public void should_not_sort_before_the_stream_is_consumed() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        Stream<Integer> sorted = StreamsUtils.sortedByIntKey(Stream.of(3, 1, 2), i -> calls.incrementAndGet());
+
+        // Then
+        Assert.assertEquals(calls.get(), 0);
+        Assert.assertEquals(sorted.count(), 3L);
+    }
+
+    @Test
+    public void should_radix_sort_in_parallel_keeping_the_order_of_equal_keys() {
+        // Given
+        Random random = new Random(314L);
+        int[][] pairs = IntStream.range(0, 200_000).mapToObj(i -> new int[]{random.nextInt(100), i}).toArray(int[][]::new);
+
+        // When
+        Sorting.sortByIntKey(pairs, pair -> pair[0], true);
+
+        // Then
+        for (int i = 1; i < pairs.length; i++) {
+            Assert.assertTrue(pairs[i - 1][0] < pairs[i][0] || pairs[i - 1][0] == pairs[i][0] && pairs[i - 1][1] < pairs[i][1]);
+        }
+    }
+
+    @Test
+    public void should_sort_with_a_reversed_key_comparator_as_a_stable_comparison_sort() {
+        // Given
+        Random random = new Random(314L);
+        List<long[]> pairs = IntStream.range(0, 10_000).mapToObj(i -> new long[]{random.nextInt(50) - 25L, i}).collect(toList());
+        List<long[]> expected = new ArrayList<>(pairs);
+        expected.sort(Comparator.<long[]>comparingLong(pair -> pair[0]).reversed());
+        com.ip.utils.Comparator<long[]> comparator = com.ip.utils.Comparator.<long[]>comparingLong(pair -> pair[0]).reversed();
+
+        // When
+        Sorting.sort(pairs, comparator, false);
+
+        // Then
+        Assert.assertEquals(pairs, expected);
+    }
+
+    @Test
+    public void should_sort_a_stream_with_any_utils_comparator() {
+        // Given
+        com.ip.utils.Comparator<Person> byAge = com.ip.utils.Comparator.comparingInt(Person::getAge);
+        com.ip.utils.Comparator<Person> byLastName = com.ip.utils.Comparator.comparing(Person::getLastName);
+
+        // When
+        List<String> byAgeNames = StreamsUtils.sorted(persons().stream(), byAge).map(Person::getFirstName).collect(toList());
+        List<String> byLastNames = StreamsUtils.sorted(persons().parallelStream(), byLastName).map(Person::getLastName).collect(toList());
+
+        // Then
+        Assert.assertEquals(byAgeNames, Arrays.asList("anu", "anubhav", "dipa", "pratap"));
+        Assert.assertEquals(byLastNames, Arrays.asList("jena", "rasmi", "sahoo", "sahu"));
+    }
+}
@@ -0,0 +1,174 @@
+package com.ip.utils;
+
+/*
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.ip.model.City;
+import com.ip.model.CityCodec;
+import com.ip.model.CityPerson;
+import com.ip.model.CityPersonCodec;
+import com.ip.model.CityPersonView;
+import com.ip.model.Person;
+import com.ip.model.PersonCodec;
+import com.ip.model.PersonView;
+import com.ip.splitors.OffHeapElementBuffer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class VarintsTest {
+
+    @Test
+    public void should_read_back_the_ints_it_writes() {
+        // Given
+        int[] values = {0, 1, 127, 128, 300, 1 << 21, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        // When
+        for (int value : values) {
+            Varints.putInt(Varints.zigZag(value), buffer);
+        }
+        buffer.flip();
+        int[] read = new int[values.length];
+        for (int i = 0; i < read.length; i++) {
+            read[i] = Varints.unZigZag(Varints.getInt(buffer));
+        }
+
+        // Then
+        Assert.assertEquals(read, values);
+        Assert.assertFalse(buffer.hasRemaining());
+        Assert.assertEquals(Varints.sizeOf(Varints.zigZag(-1)), 1);
+        Assert.assertEquals(Varints.sizeOf(127), 1);
+        Assert.assertEquals(Varints.sizeOf(128), 2);
+    }
+
+    @Test
+    public void should_compare_strings_in_place() {
+        // Given
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        Varints.putString("r\u00e9sum\u00e9", buffer);
+        Varints.putString(null, buffer);
+
+        // Then
+        Assert.assertTrue(Varints.stringEquals(buffer, 0, "r\u00e9sum\u00e9"));
+        Assert.assertFalse(Varints.stringEquals(buffer, 0, "r\u00e9sum\u00e8"));
+        Assert.assertFalse(Varints.stringEquals(buffer, 0, "resume"));
+        Assert.assertTrue(Varints.stringEquals(buffer, Varints.skipString(buffer, 0), null));
+    }
+
+    @Test
+    public void should_encode_persons_in_their_encoded_size() {
+        // Given
+        PersonCodec codec = new PersonCodec();
+        Person person = new Person("pratap", "sahu", 27);
+        ByteBuffer buffer = ByteBuffer.allocate(codec.encodedSize(person));
+
+        // When
+        codec.encode(person, buffer);
+        buffer.flip();
+        Person decoded = codec.decode(buffer);
+
+        // Then
+        Assert.assertEquals(codec.encodedSize(person), 1 + 7 + 5);
+        Assert.assertEquals(decoded.toString(), person.toString());
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void should_scan_persons_with_a_single_view() {
+        // Given
+        PersonCodec codec = new PersonCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        Arrays.asList(new Person("anu", "jena", 22), new Person("dipa", "rasmi", 19), new Person(null, "sahu", 27))
+                .forEach(person -> codec.encode(person, buffer));
+        buffer.flip();
+        PersonView view = codec.view();
+
+        // When
+        List<String> adults = new ArrayList<>();
+        for (int index = 0; index < buffer.limit(); index = view.end()) {
+            if (view.wrap(buffer, index).getAge() > 20) {
+                adults.add(view.getLastName());
+            }
+        }
+
+        // Then
+        Assert.assertEquals(adults, Arrays.asList("jena", "sahu"));
+        Assert.assertTrue(view.wrap(buffer, 0).firstNameEquals("anu"));
+        Assert.assertEquals(view.toPerson().getAge(), 22);
+    }
+
+    @Test
+    public void should_encode_cities_and_city_persons() {
+        // Given
+        CityCodec cityCodec = new CityCodec();
+        CityPersonCodec personCodec = new CityPersonCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        // When
+        cityCodec.encode(new City("bbsr"), buffer);
+        int personIndex = buffer.position();
+        personCodec.encode(new CityPerson("pratap", 27), buffer);
+        buffer.flip();
+        City city = cityCodec.decode(buffer);
+        CityPersonView view = personCodec.view().wrap(buffer, personIndex);
+
+        // Then
+        Assert.assertEquals(city.getName(), "bbsr");
+        Assert.assertEquals(view.getName(), "pratap");
+        Assert.assertEquals(view.getAge(), 27);
+        Assert.assertEquals(view.end(), buffer.limit());
+    }
+
+    @Test
+    public void should_encode_a_city_with_an_empty_name() {
+        // Given
+        CityCodec codec = new CityCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+
+        // When
+        codec.encode(new City(""), buffer);
+        buffer.flip();
+        City city = codec.decode(buffer);
+
+        // Then
+        Assert.assertEquals(city.getName(), "");
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*null name")
+    public void should_not_decode_a_city_with_a_null_name() {
+        // Given
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        Varints.putString(null, buffer);
+        buffer.flip();
+
+        // When
+        new CityCodec().decode(buffer);
+    }
+
+    @Test
+    public void should_store_persons_off_heap() {
+        // Given
+        OffHeapElementBuffer<Person> buffer = OffHeapElementBuffer.of(new PersonCodec());
+
+        // When
+        buffer.add(new Person("anu", "jena", 22));
+        buffer.add(new Person("dipa", "rasmi", 23));
+        List<String> names = new ArrayList<>();
+        buffer.forEach(person -> names.add(person.getFirstName()));
+
+        // Then
+        Assert.assertEquals(names, Arrays.asList("anu", "dipa"));
+    }
+}